@@ -0,0 +1,93 @@
+package com.creativePrint.benchmark;
+
+import com.creativePrint.cache.ProductCache;
+import com.creativePrint.config.CacheConfig;
+import com.creativePrint.mapper.CategoryMapperImpl;
+import com.creativePrint.mapper.DesignMapperImpl;
+import com.creativePrint.mapper.ProductMapperImpl;
+import com.creativePrint.mapper.ProductVariantMapperImpl;
+import com.creativePrint.recommendation.CoOccurrenceRecommender;
+import com.creativePrint.recommendation.MatrixFactorizationRecommender;
+import com.creativePrint.recommendation.TrendingEngine;
+import com.creativePrint.recommendation.UserRecommendationCache;
+import com.creativePrint.service.impl.ProductSimilarityServiceImpl;
+import com.creativePrint.service.impl.RecommendationServiceImpl;
+import com.creativePrint.service.impl.SearchAutocompleteServiceImpl;
+import com.creativePrint.tracking.InteractionIngestor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.nio.file.Path;
+
+/**
+ * The recommendation engine with only the beans it needs: JPA, the caches, the recommenders, the similarity and
+ * autocomplete services and the interaction ingestor. Security, mail, payments and the web layer stay out, and
+ * the schedulers are not enabled, so indexes only change when a benchmark rebuilds them.
+ */
+@SpringBootConfiguration
+@ImportAutoConfiguration({
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        JpaRepositoriesAutoConfiguration.class,
+        TransactionAutoConfiguration.class
+})
+@EntityScan("com.creativePrint.model")
+@EnableJpaRepositories("com.creativePrint.repository")
+@Import({
+        CacheConfig.class,
+        ProductCache.class,
+        UserRecommendationCache.class,
+        CoOccurrenceRecommender.class,
+        MatrixFactorizationRecommender.class,
+        TrendingEngine.class,
+        InteractionIngestor.class,
+        ProductSimilarityServiceImpl.class,
+        SearchAutocompleteServiceImpl.class,
+        RecommendationServiceImpl.class,
+        ProductMapperImpl.class,
+        CategoryMapperImpl.class,
+        DesignMapperImpl.class,
+        ProductVariantMapperImpl.class
+})
+public class BenchmarkContext {
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    // Each context gets its own in-memory database, created from the entities
+    public static ConfigurableApplicationContext start(String database, Path modelPath) {
+        return new SpringApplicationBuilder(BenchmarkContext.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=PostgreSQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--spring.docker.compose.enabled=false",
+                        "--recommendation.als.model-path=" + modelPath);
+    }
+}
@@ -0,0 +1,115 @@
+package com.creativePrint.benchmark;
+
+import com.creativePrint.dto.product.resp.ProductResponse;
+import com.creativePrint.enums.TrendingWindow;
+import com.creativePrint.recommendation.CoOccurrenceRecommender;
+import com.creativePrint.recommendation.MatrixFactorizationRecommender;
+import com.creativePrint.recommendation.TrendingEngine;
+import com.creativePrint.recommendation.UserRecommendationCache;
+import com.creativePrint.service.RecommendationService;
+import com.creativePrint.service.impl.ProductSimilarityServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-path latency of the recommendation engine over generated catalogs of increasing size. Every index
+ * and model is built once per trial, so the numbers cover serving only; users and products are picked
+ * uniformly, which makes the cached personalized case a mix of hits and misses.
+ *
+ * <p>{@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="RecommendationBenchmark -p interactions=100000"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class RecommendationBenchmark {
+    private static final int LIMIT = 10;
+    private static final long SEED = 42L;
+
+    @Param({"10000", "100000", "1000000"})
+    public int interactions;
+
+    private ConfigurableApplicationContext context;
+    private Path modelPath;
+    private RecommendationService recommendationService;
+    private UserRecommendationCache userRecommendationCache;
+    private SyntheticDataGenerator.Scale scale;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        modelPath = Files.createTempFile("als-benchmark", ".bin");
+        Files.delete(modelPath);
+        context = BenchmarkContext.start("recommendations" + interactions, modelPath);
+
+        scale = SyntheticDataGenerator.Scale.forInteractions(interactions);
+        new SyntheticDataGenerator(context.getBean(JdbcTemplate.class), scale, SEED, Instant.now()).generate();
+
+        context.getBean(CoOccurrenceRecommender.class).rebuild();
+        context.getBean(MatrixFactorizationRecommender.class).train();
+        context.getBean(ProductSimilarityServiceImpl.class).loadIndex();
+        context.getBean(TrendingEngine.class).seed();
+
+        recommendationService = context.getBean(RecommendationService.class);
+        userRecommendationCache = context.getBean(UserRecommendationCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(modelPath);
+    }
+
+    @Benchmark
+    public List<ProductResponse> personalized() {
+        return recommendationService.getPersonalizedRecommendations(randomClient(), LIMIT);
+    }
+
+    @Benchmark
+    public List<ProductResponse> personalizedUncached() {
+        Long userId = randomClient();
+        userRecommendationCache.invalidate(userId);
+        return recommendationService.getPersonalizedRecommendations(userId, LIMIT);
+    }
+
+    @Benchmark
+    public List<ProductResponse> similar() {
+        return recommendationService.getSimilarProducts(randomProduct(), LIMIT);
+    }
+
+    @Benchmark
+    public List<ProductResponse> trending() {
+        return recommendationService.getTrendingProducts(TrendingWindow.DAILY, LIMIT);
+    }
+
+    // Clients follow the partners in id order, see SyntheticDataGenerator
+    private Long randomClient() {
+        return (long) scale.partners() + 1 + ThreadLocalRandom.current().nextInt(scale.clients());
+    }
+
+    private Long randomProduct() {
+        return 1L + ThreadLocalRandom.current().nextInt(scale.products());
+    }
+}
@@ -0,0 +1,345 @@
+package com.creativePrint.benchmark;
+
+import com.creativePrint.enums.InteractionType;
+import com.creativePrint.repository.UserInteractionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty schema (created by Hibernate) with a deterministic catalog: partners, clients, categories,
+ * designs with elements, products with variants and Zipf-distributed interactions, plus the
+ * user_product_score rollup and compaction watermark those interactions would produce. The same seed and
+ * scale always produce the same rows, so benchmark runs are comparable.
+ *
+ * <p>Standalone use against a local PostgreSQL whose schema the application has already created:
+ * {@code SyntheticDataGenerator <jdbc-url> <user> <password> [interactions]}
+ */
+@Slf4j
+public class SyntheticDataGenerator {
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] CATEGORIES = {"T-Shirts", "Hoodies", "Mugs", "Posters", "Stickers", "Phone Cases",
+            "Tote Bags", "Caps", "Notebooks", "Pillows", "Socks", "Canvas"};
+    private static final String[] ELEMENTS = {"cat", "dog", "sun", "moon", "wave", "mountain", "flower", "skull",
+            "retro", "neon", "minimal", "vintage", "space", "forest", "city", "ocean", "abstract", "pixel",
+            "tiger", "bird", "coffee", "music", "sport", "quote"};
+    private static final String[] SIZES = {"S", "M", "L", "XL"};
+    private static final String[] COLORS = {"Black", "White", "Red", "Blue", "Green"};
+
+    // Cumulative share of each interaction type: mostly views, few purchases
+    private static final InteractionType[] TYPES = {InteractionType.VIEW, InteractionType.LIKE,
+            InteractionType.ADD_TO_CART, InteractionType.PURCHASE, InteractionType.SEARCH};
+    private static final double[] TYPE_SHARES = {0.70, 0.82, 0.92, 0.97, 1.0};
+
+    private static final Duration HISTORY = Duration.ofDays(30);
+
+    public record Scale(int partners, int clients, int products, int interactions) {
+
+        // Roughly 20 interactions per client and 50 per product, with a floor for tiny runs
+        public static Scale forInteractions(int interactions) {
+            int products = Math.max(200, interactions / 50);
+            return new Scale(Math.max(10, products / 20), Math.max(50, interactions / 20), products, interactions);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Scale scale;
+    private final SplittableRandom random;
+    private final Instant now;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, Scale scale, long seed, Instant now) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scale = scale;
+        this.random = new SplittableRandom(seed);
+        this.now = now;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: SyntheticDataGenerator <jdbc-url> <user> <password> [interactions]");
+            System.exit(1);
+        }
+        int interactions = args.length > 3 ? Integer.parseInt(args[3]) : 1_000_000;
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(args[0], args[1], args[2]);
+        new SyntheticDataGenerator(new JdbcTemplate(dataSource), Scale.forInteractions(interactions), 42L, Instant.now())
+                .generate();
+    }
+
+    public void generate() {
+        long started = System.currentTimeMillis();
+        int partners = scale.partners();
+        int users = partners + scale.clients();
+
+        insertUsers(users, partners);
+        insertCategories();
+        insertDesigns(partners);
+        insertProducts(partners);
+        insertInteractions(partners, scale.clients());
+        restartIdentities(users);
+
+        log.info("Generated {} users, {} products and {} interactions in {} ms", users, scale.products(),
+                scale.interactions(), System.currentTimeMillis() - started);
+    }
+
+    // Partners take ids 1..partners, clients the ids after them
+    private void insertUsers(int users, int partners) {
+        List<Object[]> rows = new ArrayList<>(users);
+        for (int id = 1; id <= users; id++) {
+            boolean partner = id <= partners;
+            Timestamp createdAt = Timestamp.from(now.minus(HISTORY.multipliedBy(2)));
+            rows.add(new Object[]{id, "First" + id, "Last" + id, "user" + id + "@example.com", "{noop}benchmark",
+                    true, partner ? "PARTNER" : "CLIENT", createdAt, createdAt});
+        }
+        batch("INSERT INTO users (id, first_name, last_name, email, password, active, role, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        List<Object[]> partnerRows = new ArrayList<>(partners);
+        List<Object[]> clientRows = new ArrayList<>(users - partners);
+        for (int id = 1; id <= users; id++) {
+            if (id <= partners) {
+                partnerRows.add(new Object[]{id, "Studio " + id, "design", "TAX" + id, 10.0});
+            } else {
+                clientRows.add(new Object[]{id, id + " Main Street", id + " Main Street", "555-" + id});
+            }
+        }
+        batch("INSERT INTO partners (id, company_name, business_type, tax_id, commission_rate) VALUES (?, ?, ?, ?, ?)",
+                partnerRows);
+        batch("INSERT INTO clients (id, shipping_address, billing_address, phone_number) VALUES (?, ?, ?, ?)",
+                clientRows);
+    }
+
+    private void insertCategories() {
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp createdAt = Timestamp.from(now.minus(HISTORY.multipliedBy(2)));
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            rows.add(new Object[]{i + 1, CATEGORIES[i], CATEGORIES[i] + " category", createdAt, createdAt});
+        }
+        batch("INSERT INTO categories (id, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    // One design per product, each by a partner and tagged with two or three elements
+    private void insertDesigns(int partners) {
+        List<Object[]> designs = new ArrayList<>(scale.products());
+        List<Object[]> elements = new ArrayList<>(scale.products() * 3);
+        for (int id = 1; id <= scale.products(); id++) {
+            Timestamp createdAt = createdAt(id);
+            designs.add(new Object[]{id, "Design " + id, "Design " + id + " description",
+                    "https://example.com/designs/" + id + ".png", 1 + random.nextInt(partners), createdAt, createdAt});
+            int count = 2 + random.nextInt(2);
+            for (int e = 0; e < count; e++) {
+                elements.add(new Object[]{id, ELEMENTS[random.nextInt(ELEMENTS.length)]});
+            }
+        }
+        batch("INSERT INTO design (id, name, description, design_url, creator_id, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", designs);
+        batch("INSERT INTO design_elements (design_id, elements) VALUES (?, ?)", elements);
+    }
+
+    private void insertProducts(int partners) {
+        List<Object[]> products = new ArrayList<>(scale.products());
+        List<Object[]> variants = new ArrayList<>(scale.products() * 4);
+        int variantId = 1;
+        for (int id = 1; id <= scale.products(); id++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            double basePrice = Math.round((8 + random.nextDouble() * 60) * 100) / 100.0;
+            int variantCount = 1 + random.nextInt(4);
+            int totalStock = 0;
+            double maxAdjustment = 0;
+            for (int v = 0; v < variantCount; v++) {
+                int stock = random.nextInt(100);
+                double adjustment = v * 2.0;
+                totalStock += stock;
+                maxAdjustment = Math.max(maxAdjustment, adjustment);
+                variants.add(new Object[]{variantId++, SIZES[v % SIZES.length], COLORS[random.nextInt(COLORS.length)],
+                        adjustment, stock, id});
+            }
+            Timestamp createdAt = createdAt(id);
+            // About 5% of the catalog is archived, as in production
+            boolean archived = random.nextInt(20) == 0;
+            products.add(new Object[]{id, category + " " + ELEMENTS[random.nextInt(ELEMENTS.length)] + " " + id,
+                    "Product " + id + " description", basePrice, 1 + indexOf(category), id, createdAt, createdAt,
+                    archived, totalStock, basePrice, basePrice + maxAdjustment});
+        }
+        batch("INSERT INTO product (id, name, description, base_price, category_id, design_id, created_at, updated_at, " +
+                "archived, total_stock, min_price, max_price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", products);
+        batch("INSERT INTO product_variant (id, size, color, price_adjustment, stock, product_id) VALUES (?, ?, ?, ?, ?, ?)",
+                variants);
+    }
+
+    /**
+     * Users and products are both drawn from Zipf distributions over a shuffled rank order, so a few users and
+     * products account for most traffic without the popular ones being the lowest ids. Interactions are spread
+     * evenly over the last 30 days in id order, and everything but the last hour counts as already compacted.
+     */
+    private void insertInteractions(int partners, int clients) {
+        ZipfSampler userSampler = new ZipfSampler(clients, 0.8, shuffledIds(clients, partners + 1));
+        ZipfSampler productSampler = new ZipfSampler(scale.products(), 1.1, shuffledIds(scale.products(), 1));
+
+        Map<Long, long[]> rollup = new HashMap<>();
+        Instant start = now.minus(HISTORY);
+        long step = HISTORY.toMillis() / Math.max(1, scale.interactions());
+        Instant compactedBefore = now.minus(Duration.ofHours(1));
+        long watermark = 0;
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int id = 1; id <= scale.interactions(); id++) {
+            long userId = userSampler.sample(random);
+            long productId = productSampler.sample(random);
+            InteractionType type = sampleType();
+            Instant timestamp = start.plusMillis(id * step);
+
+            if (type == InteractionType.SEARCH) {
+                rows.add(new Object[]{id, userId, null, type.name(), type.getWeight(),
+                        ELEMENTS[(int) (productId % ELEMENTS.length)], Timestamp.from(timestamp)});
+            } else {
+                rows.add(new Object[]{id, userId, productId, type.name(), type.getWeight(), null, Timestamp.from(timestamp)});
+                if (timestamp.isBefore(compactedBefore)) {
+                    long[] score = rollup.computeIfAbsent(userId * (scale.products() + 1L) + productId, k -> new long[3]);
+                    score[0] = userId;
+                    score[1] = productId;
+                    score[2] += type.getWeight();
+                }
+            }
+            if (timestamp.isBefore(compactedBefore)) {
+                watermark = id;
+            }
+            if (rows.size() == BATCH_SIZE) {
+                insertInteractionBatch(rows);
+                rows.clear();
+            }
+        }
+        insertInteractionBatch(rows);
+
+        List<Object[]> scores = new ArrayList<>(rollup.size());
+        Timestamp lastSeen = Timestamp.from(compactedBefore);
+        rollup.values().forEach(score -> scores.add(new Object[]{score[0], score[1], score[2], lastSeen}));
+        batch("INSERT INTO user_product_score (user_id, product_id, weighted_score, last_seen) VALUES (?, ?, ?, ?)",
+                scores);
+        jdbcTemplate.update("INSERT INTO job_watermarks (name, last_id, updated_at) VALUES (?, ?, ?)",
+                UserInteractionRepository.INTERACTION_COMPACTION, watermark, lastSeen);
+    }
+
+    private void insertInteractionBatch(List<Object[]> rows) {
+        batch("INSERT INTO user_interactions (id, user_id, product_id, type, weight, search_query, timestamp) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private InteractionType sampleType() {
+        double value = random.nextDouble();
+        for (int i = 0; i < TYPE_SHARES.length; i++) {
+            if (value < TYPE_SHARES[i]) {
+                return TYPES[i];
+            }
+        }
+        return InteractionType.VIEW;
+    }
+
+    // Later ids are newer, spread over twice the interaction history
+    private Timestamp createdAt(int id) {
+        long span = HISTORY.multipliedBy(2).toMillis();
+        return Timestamp.from(now.minus(HISTORY.multipliedBy(2)).plusMillis(span * id / (scale.products() + 1L)));
+    }
+
+    private long[] shuffledIds(int count, long firstId) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = firstId + i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    // Rows were inserted with explicit ids, so identity columns must continue after them
+    private void restartIdentities(int users) {
+        Map<String, Long> next = Map.of(
+                "users", users + 1L,
+                "categories", CATEGORIES.length + 1L,
+                "design", scale.products() + 1L,
+                "product", scale.products() + 1L,
+                "product_variant", nextId("product_variant"),
+                "user_interactions", scale.interactions() + 1L);
+        String database = jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDatabaseProductName();
+        });
+        next.forEach((table, value) -> {
+            if ("PostgreSQL".equals(database)) {
+                jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), ?, false)", Long.class,
+                        table, value);
+            } else {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + value);
+            }
+        });
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<Object[]> chunk = rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE));
+            jdbcTemplate.batchUpdate(sql, chunk);
+        }
+    }
+
+    private static int indexOf(String category) {
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (CATEGORIES[i].equals(category)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(category);
+    }
+
+    // Inverse-CDF sampling over precomputed cumulative weights 1 / rank^exponent
+    static final class ZipfSampler {
+        private final double[] cumulative;
+        private final long[] ids;
+
+        ZipfSampler(int size, double exponent, long[] ids) {
+            this.cumulative = new double[size];
+            this.ids = ids;
+            double total = 0;
+            for (int rank = 1; rank <= size; rank++) {
+                total += 1.0 / Math.pow(rank, exponent);
+                cumulative[rank - 1] = total;
+            }
+            for (int i = 0; i < size; i++) {
+                cumulative[i] /= total;
+            }
+        }
+
+        long sample(SplittableRandom random) {
+            double value = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return ids[low];
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.creativePrint.cache;
+
+import com.creativePrint.config.CacheConfig;
+import com.creativePrint.dto.product.resp.ProductListResponse;
+import com.creativePrint.dto.product.resp.TaggedResponse;
+import com.creativePrint.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Catalog pages with their ETags. Every entry is stamped with the change generation of its category,
+ * read before the page was loaded. A read that overlapped a product change may still store its page
+ * after the eviction, but the stamp is behind by then and the entry is treated as a miss.
+ */
+@Slf4j
+@Component
+public class CatalogPageCache {
+    private final Cache<Object, Object> pages;
+    private final Counter invalidations;
+    private final AtomicLong allChanges = new AtomicLong();
+    private final Map<String, AtomicLong> categoryChanges = new ConcurrentHashMap<>();
+
+    public CatalogPageCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.pages = ((CaffeineCache) cacheManager.getCache(CacheConfig.PRODUCT_CATALOG_CACHE)).getNativeCache();
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CacheConfig.PRODUCT_CATALOG_CACHE)
+                .description("Catalog pages dropped because a product in their category changed")
+                .register(meterRegistry);
+    }
+
+    public TaggedResponse<ProductListResponse> get(CatalogPageKey key, Supplier<TaggedResponse<ProductListResponse>> loader) {
+        long generation = generation(key);
+        if (pages.getIfPresent(key) instanceof Entry entry && entry.generation() == generation) {
+            return entry.page();
+        }
+
+        TaggedResponse<ProductListResponse> page = loader.get();
+        pages.put(key, new Entry(page, generation));
+        return page;
+    }
+
+    // Runs after commit; the generations move before the eviction, so a page stored from a read that
+    // started before the commit is already out of date when it lands
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evictCategories(event.affectedCategories());
+    }
+
+    public void evictCategories(Set<String> categories) {
+        allChanges.incrementAndGet();
+        categories.forEach(category -> categoryChanges.computeIfAbsent(category, c -> new AtomicLong()).incrementAndGet());
+
+        int before = pages.asMap().size();
+        pages.asMap().keySet()
+                .removeIf(key -> key instanceof CatalogPageKey pageKey && pageKey.isAffectedBy(categories));
+        int removed = before - pages.asMap().size();
+
+        if (removed > 0) {
+            invalidations.increment(removed);
+            log.debug("Evicted {} catalog pages for categories {}", removed, categories);
+        }
+    }
+
+    // Unfiltered pages move with every change, category pages only with changes to their category
+    private long generation(CatalogPageKey key) {
+        if (key.category() == null) {
+            return allChanges.get();
+        }
+        AtomicLong changes = categoryChanges.get(key.category());
+        return changes == null ? 0 : changes.get();
+    }
+
+    private record Entry(TaggedResponse<ProductListResponse> page, long generation) {
+    }
+}
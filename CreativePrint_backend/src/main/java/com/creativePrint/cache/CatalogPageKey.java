@@ -0,0 +1,25 @@
+package com.creativePrint.cache;
+
+import com.creativePrint.dto.product.req.CatalogSort;
+
+import java.util.Set;
+
+public record CatalogPageKey(int page, int size, String category, CatalogSort sort) {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Normalizes the request, so out-of-range pages and sizes share the entry of the page they are served as
+    public static CatalogPageKey of(int page, int size, String category, CatalogSort sort) {
+        return new CatalogPageKey(Math.max(page, 0), clampSize(size),
+                category == null || category.isEmpty() ? null : category,
+                sort == null ? CatalogSort.NEWEST : sort);
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // Unfiltered pages list every category, so they are stale whenever any product changes
+    public boolean isAffectedBy(Set<String> categories) {
+        return category == null || categories.contains(category);
+    }
+}
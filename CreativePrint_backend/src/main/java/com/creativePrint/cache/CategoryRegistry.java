@@ -0,0 +1,129 @@
+package com.creativePrint.cache;
+
+import com.creativePrint.dto.category.CategoryProductCount;
+import com.creativePrint.event.ProductChangedEvent;
+import com.creativePrint.model.Categories;
+import com.creativePrint.repository.CategoriesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the categories with their listed (non-archived) product counts.
+ * Readers get an immutable {@link Snapshot}; writers swap in a new one, so lookups never lock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryRegistry {
+    private final CategoriesRepository categoriesRepository;
+
+    private volatile Snapshot current;
+
+    public record Entry(Long id, String name, String description, long productCount) {
+
+        Entry withCountDelta(long delta) {
+            return new Entry(id, name, description, Math.max(0, productCount + delta));
+        }
+    }
+
+    public record Snapshot(long version, List<Entry> entries, Map<Long, Entry> byId, Map<String, Entry> byName,
+                           String etag) {
+
+        static Snapshot of(long version, List<Entry> entries) {
+            List<Entry> ordered = List.copyOf(entries);
+            return new Snapshot(
+                    version,
+                    ordered,
+                    ordered.stream().collect(Collectors.toUnmodifiableMap(Entry::id, Function.identity())),
+                    ordered.stream().collect(Collectors.toUnmodifiableMap(Entry::name, Function.identity(), (a, b) -> a)),
+                    // Content hash rather than the version, so every instance holding the same data agrees
+                    ETags.of(ordered.toArray()));
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current;
+        return snapshot != null ? snapshot : reload();
+    }
+
+    public Optional<Entry> findByName(String name) {
+        return Optional.ofNullable(snapshot().byName().get(name));
+    }
+
+    public Optional<Entry> findById(Long id) {
+        return Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    public List<String> names() {
+        return snapshot().entries().stream().map(Entry::name).toList();
+    }
+
+    // Full reload at startup and periodically, which also corrects any drift in the incremental counts
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${category.registry.refresh-interval:15m}",
+            initialDelayString = "${category.registry.refresh-interval:15m}")
+    public void refresh() {
+        reload();
+    }
+
+    private synchronized Snapshot reload() {
+        Map<Long, Long> counts = categoriesRepository.countListedProductsByCategory().stream()
+                .collect(Collectors.toMap(CategoryProductCount::categoryId, CategoryProductCount::count));
+
+        List<Entry> entries = categoriesRepository.findAll().stream()
+                .map(category -> toEntry(category, counts.getOrDefault(category.getId(), 0L)))
+                .toList();
+
+        long version = current == null ? 1 : current.version() + 1;
+        current = Snapshot.of(version, entries);
+        log.debug("Category registry loaded {} categories (version {})", entries.size(), version);
+        return current;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        Map<String, Long> deltas = new HashMap<>();
+        if (event.previouslyListed() && event.previousCategory() != null) {
+            deltas.merge(event.previousCategory(), -1L, Long::sum);
+        }
+        if (event.listed() && event.category() != null) {
+            deltas.merge(event.category(), 1L, Long::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Snapshot snapshot = snapshot();
+        if (!snapshot.byName().keySet().containsAll(deltas.keySet())) {
+            // A category we have not seen yet, so reload rather than guess its metadata
+            reload();
+            return;
+        }
+
+        Map<Long, Entry> entries = new LinkedHashMap<>();
+        snapshot.entries().forEach(entry -> entries.put(entry.id(), entry));
+        deltas.forEach((name, delta) -> {
+            Entry entry = snapshot.byName().get(name);
+            entries.put(entry.id(), entry.withCountDelta(delta));
+        });
+        current = Snapshot.of(snapshot.version() + 1, List.copyOf(entries.values()));
+    }
+
+    private Entry toEntry(Categories category, long productCount) {
+        return new Entry(category.getId(), category.getName(), category.getDescription(), productCount);
+    }
+}
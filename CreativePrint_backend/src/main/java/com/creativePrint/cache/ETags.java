@@ -0,0 +1,27 @@
+package com.creativePrint.cache;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Object... parts) {
+        String joined = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+        return DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The "hot" flag depends on the clock, so product tags roll over hourly even when no row changed
+    public static Instant hotBucket() {
+        return Instant.now().truncatedTo(ChronoUnit.HOURS);
+    }
+}
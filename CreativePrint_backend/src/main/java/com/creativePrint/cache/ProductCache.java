@@ -0,0 +1,87 @@
+package com.creativePrint.cache;
+
+import com.creativePrint.config.CacheConfig;
+import com.creativePrint.dto.product.resp.ProductDetailWithVariantsDTO;
+import com.creativePrint.dto.product.resp.ProductResponse;
+import com.creativePrint.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Product DTOs by id. Lookups are bulk so a cart of N items costs one cache pass and at most one query.
+ */
+@Component
+public class ProductCache {
+    private final Cache<Object, Object> details;
+    private final Cache<Object, Object> responses;
+
+    public ProductCache(CacheManager cacheManager) {
+        this.details = nativeCache(cacheManager, CacheConfig.PRODUCT_DETAILS_CACHE);
+        this.responses = nativeCache(cacheManager, CacheConfig.PRODUCT_RESPONSES_CACHE);
+    }
+
+    /**
+     * Returns the details for {@code ids} in request order, loading the misses with a single call to {@code loader}.
+     * Ids that the loader does not return are left out.
+     */
+    public List<ProductDetailWithVariantsDTO> getDetails(
+            Collection<Long> ids, Function<Set<Long>, List<ProductDetailWithVariantsDTO>> loader) {
+        return getAll(details, ids, loader, ProductDetailWithVariantsDTO::id);
+    }
+
+    /**
+     * Same as {@link #getDetails} for the {@link ProductResponse} shape used by recommendations.
+     */
+    public List<ProductResponse> getResponses(
+            Collection<Long> ids, Function<Set<Long>, List<ProductResponse>> loader) {
+        return getAll(responses, ids, loader, ProductResponse::id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> getAll(Cache<Object, Object> cache, Collection<Long> ids,
+                               Function<Set<Long>, List<T>> loader, Function<T, Long> idOf) {
+        Map<Object, Object> cached = cache.getAllPresent(ids);
+
+        Set<Long> missing = ids.stream()
+                .filter(id -> !cached.containsKey(id))
+                .collect(Collectors.toSet());
+
+        Map<Long, T> found = new LinkedHashMap<>();
+        cached.forEach((id, dto) -> found.put((Long) id, (T) dto));
+
+        if (!missing.isEmpty()) {
+            for (T dto : loader.apply(missing)) {
+                cache.put(idOf.apply(dto), dto);
+                found.put(idOf.apply(dto), dto);
+            }
+        }
+
+        return ids.stream()
+                .distinct()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        details.invalidate(event.productId());
+        responses.invalidate(event.productId());
+    }
+
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
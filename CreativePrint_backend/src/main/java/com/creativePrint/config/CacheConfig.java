@@ -0,0 +1,85 @@
+package com.creativePrint.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PRODUCT_CATALOG_CACHE = "productCatalog";
+    public static final String PRODUCT_DETAILS_CACHE = "productDetails";
+    public static final String PRODUCT_RESPONSES_CACHE = "productResponses";
+    public static final String USER_RECOMMENDATIONS_CACHE = "userRecommendations";
+    public static final String ORDER_IDEMPOTENCY_CACHE = "orderIdempotency";
+
+    @Value("${catalog.cache.max-size:2000}")
+    private long catalogMaxSize;
+
+    @Value("${catalog.cache.ttl:10m}")
+    private Duration catalogTtl;
+
+    @Value("${catalog.product-cache.max-size:10000}")
+    private long productMaxSize;
+
+    @Value("${catalog.product-cache.ttl:10m}")
+    private Duration productTtl;
+
+    @Value("${recommendation.user-cache.max-size:50000}")
+    private long userRecommendationsMaxSize;
+
+    @Value("${recommendation.user-cache.ttl:30m}")
+    private Duration userRecommendationsTtl;
+
+    @Value("${orders.idempotency.cache-max-size:10000}")
+    private long idempotencyMaxSize;
+
+    @Value("${orders.idempotency.retention:24h}")
+    private Duration idempotencyRetention;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        // Stats are recorded so the actuator exposes cache.gets / cache.evictions per cache
+        cacheManager.registerCustomCache(PRODUCT_CATALOG_CACHE, Caffeine.newBuilder()
+                .maximumSize(catalogMaxSize)
+                .expireAfterWrite(catalogTtl)
+                .recordStats()
+                .build());
+
+        cacheManager.registerCustomCache(PRODUCT_DETAILS_CACHE, Caffeine.newBuilder()
+                .maximumSize(productMaxSize)
+                .expireAfterWrite(productTtl)
+                .recordStats()
+                .build());
+
+        cacheManager.registerCustomCache(PRODUCT_RESPONSES_CACHE, Caffeine.newBuilder()
+                .maximumSize(productMaxSize)
+                .expireAfterWrite(productTtl)
+                .recordStats()
+                .build());
+
+        cacheManager.registerCustomCache(USER_RECOMMENDATIONS_CACHE, Caffeine.newBuilder()
+                .maximumSize(userRecommendationsMaxSize)
+                .expireAfterWrite(userRecommendationsTtl)
+                .recordStats()
+                .build());
+
+        // Front of the idempotency_keys table; a miss falls back to the table
+        cacheManager.registerCustomCache(ORDER_IDEMPOTENCY_CACHE, Caffeine.newBuilder()
+                .maximumSize(idempotencyMaxSize)
+                .expireAfterWrite(idempotencyRetention)
+                .recordStats()
+                .build());
+
+        return cacheManager;
+    }
+}
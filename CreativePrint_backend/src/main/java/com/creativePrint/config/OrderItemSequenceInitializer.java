@@ -0,0 +1,44 @@
+package com.creativePrint.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+
+/**
+ * Order items used to take IDENTITY ids. On a database that has such rows, the order_item_seq sequence that
+ * Hibernate creates starts at 1, so it is moved past the highest existing id before any order is placed.
+ * Hibernate's pooled optimizer hands out ids {@code (value - 49) .. value} for each sequence value.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderItemSequenceInitializer {
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String ADVANCE_SQL =
+            "SELECT setval('order_item_seq', m.max_id + ?, false) " +
+            "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM order_item) m, order_item_seq s " +
+            "WHERE m.max_id >= CASE WHEN s.is_called THEN s.last_value ELSE s.last_value - ? END";
+
+    private final JdbcTemplate jdbcTemplate;
+    // Injected so the schema, including the sequence, exists before this runs
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void advanceSequence() {
+        String database = jdbcTemplate.execute((Connection connection) ->
+                JdbcUtils.commonDatabaseName(connection.getMetaData().getDatabaseProductName()));
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        jdbcTemplate.query(ADVANCE_SQL, rs -> {
+            log.info("Advanced order_item_seq to {}", rs.getLong(1));
+        }, ALLOCATION_SIZE, ALLOCATION_SIZE - 1);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import com.creativePrint.dto.category.CategoryResponse;
 
 import java.util.List;
@@ -20,7 +21,11 @@ public class CategorieController {
     private final CategorieService categorieService;
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
-        return ResponseEntity.ok(categorieService.getAllCategories());
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(WebRequest webRequest) {
+        String etag = categorieService.getCategoriesETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(categorieService.getAllCategories());
     }
 }
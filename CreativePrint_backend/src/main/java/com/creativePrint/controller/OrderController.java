@@ -4,6 +4,8 @@ import java.util.List;
 
 import com.creativePrint.dto.order.req.OrderStatusUpdateRequest;
 import com.creativePrint.dto.order.resp.OrderStatusHistoryResponse;
+import com.creativePrint.dto.order.resp.OrderSummaryResponse;
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.enums.OrderStatus;
 import com.creativePrint.model.Order;
 import org.springframework.data.domain.Page;
@@ -20,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import com.creativePrint.dto.order.req.OrderRequest;
 import com.creativePrint.dto.order.resp.OrderResponse;
 import com.creativePrint.model.User;
+import com.creativePrint.service.IdempotentOrderService;
 import com.creativePrint.service.OrderService;
 
 import jakarta.validation.Valid;
@@ -30,26 +33,31 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class OrderController {
     private final OrderService orderService;
+    private final IdempotentOrderService idempotentOrderService;
 
+    // Clients should send a fresh Idempotency-Key per checkout and reuse it when retrying
     @PostMapping
     @PreAuthorize("hasRole('CLIENT')")
     public ResponseEntity<OrderResponse> createOrder(
         @RequestBody @Valid OrderRequest request,
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
         @AuthenticationPrincipal User user
     ) {
         if (!user.getId().equals(request.buyerId())) {
             throw new AccessDeniedException("You can only create orders for yourself");
         }
         return ResponseEntity.status(HttpStatus.CREATED)
-            .body(orderService.createOrder(request));
+            .body(idempotentOrderService.createOrder(user.getId(), idempotencyKey, request));
     }
 
     @GetMapping("/history")
     @PreAuthorize("hasRole('CLIENT')")
-    public ResponseEntity<List<OrderResponse>> getOrderHistory(
-        @AuthenticationPrincipal User user
+    public ResponseEntity<CursorPageResponse<OrderSummaryResponse>> getOrderHistory(
+        @AuthenticationPrincipal User user,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
     ) {
-        return ResponseEntity.ok(orderService.getOrderHistory(user.getId()));
+        return ResponseEntity.ok(orderService.getOrderHistory(user.getId(), cursor, size));
     }
 
     @GetMapping("/{orderId}")
@@ -13,6 +13,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import com.creativePrint.dto.design.req.DesignRequest;
 import com.creativePrint.dto.design.resp.DesignResponse;
 import com.creativePrint.dto.product.req.ProductRequest;
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.dto.product.resp.ProductResponse;
 import com.creativePrint.model.User;
 import com.creativePrint.service.PartnerService;
@@ -83,6 +84,16 @@ public class PartnerController {
                 partnerProductService.getPartnerProducts(partner, pageable));
     }
 
+    @GetMapping("/products/scroll")
+    @PreAuthorize("hasRole('PARTNER')")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> scrollProducts(
+            @AuthenticationPrincipal User partner,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(
+                partnerProductService.scrollPartnerProducts(partner, cursor, size));
+    }
+
     @GetMapping("/products/{productId}")
     @PreAuthorize("hasRole('PARTNER')")
     public ResponseEntity<ProductResponse> getProduct(
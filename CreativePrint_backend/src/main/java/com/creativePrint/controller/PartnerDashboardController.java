@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -48,13 +49,12 @@ public class PartnerDashboardController {
         stats.put("totalProducts", totalProducts);
 
 
-        List<Order> partnerOrders = orderRepository.findByItemsVariantProductDesignCreatorId(partner.getId());
-        stats.put("totalOrders", partnerOrders.size());
+        // The page's count query gives the total, so only the five newest orders are loaded
+        Page<Order> latestOrders = orderRepository.findLatestPartnerOrders(partner.getId(), 5);
+        stats.put("totalOrders", latestOrders.getTotalElements());
 
         // Recent orders
-        List<Map<String, Object>> recentOrders = partnerOrders.stream()
-                .sorted((o1, o2) -> o2.getCreatedAt().compareTo(o1.getCreatedAt()))
-                .limit(5)
+        List<Map<String, Object>> recentOrders = latestOrders.stream()
                 .map(order -> {
                     Map<String, Object> orderMap = new HashMap<>();
                     orderMap.put("id", order.getId());
@@ -68,7 +68,9 @@ public class PartnerDashboardController {
         stats.put("recentOrders", recentOrders);
 
         // Recent sales (last 7 days)
-        List<Map<String, Object>> recentSales = calculateRecentSales(partnerOrders);
+        Instant since = LocalDate.now().minusDays(7).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        List<Map<String, Object>> recentSales = calculateRecentSales(
+                orderRepository.findPartnerOrdersSince(partner.getId(), since));
         stats.put("recentSales", recentSales);
 
         return ResponseEntity.ok(stats);
@@ -1,13 +1,22 @@
 package com.creativePrint.controller;
 
+import com.creativePrint.dto.product.req.CatalogSort;
+import com.creativePrint.dto.product.req.ProductFacetFilter;
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.dto.product.resp.ProductDetailWithVariantsDTO;
 import com.creativePrint.dto.product.resp.ProductListResponse;
+import com.creativePrint.dto.product.resp.TaggedResponse;
 import com.creativePrint.service.ProductCatalogService;
+import com.creativePrint.service.SearchAutocompleteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/products")
@@ -15,25 +24,84 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Product Catalog", description = "Public API for browsing products")
 public class ProductCatalogController {
     private final ProductCatalogService productCatalogService;
+    private final SearchAutocompleteService searchAutocompleteService;
 
     @GetMapping
     @Operation(summary = "Get product catalog with pagination and optional filtering")
     public ResponseEntity<ProductListResponse> getProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
-            @RequestParam(required = false) String category) {
-        return ResponseEntity.ok(productCatalogService.getProductCatalog(page, size, category));
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "NEWEST") CatalogSort sort,
+            WebRequest webRequest) {
+        TaggedResponse<ProductListResponse> catalog = productCatalogService.getProductCatalog(page, size, category, sort);
+        if (webRequest.checkNotModified(catalog.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(catalog.etag()).body(catalog.body());
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get product catalog with cursor-based pagination and optional filtering")
+    public ResponseEntity<CursorPageResponse<ProductListResponse.ProductDTO>> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String category,
+            WebRequest webRequest) {
+        TaggedResponse<CursorPageResponse<ProductListResponse.ProductDTO>> scroll =
+                productCatalogService.scrollProductCatalog(cursor, size, category);
+        if (webRequest.checkNotModified(scroll.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(scroll.etag()).body(scroll.body());
+    }
+
+    @GetMapping("/filter")
+    @Operation(summary = "Filter the catalog by size, color and price range, with facet counts")
+    public ResponseEntity<ProductListResponse> filterProducts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Set<String> sizes,
+            @RequestParam(required = false) Set<String> colors,
+            @RequestParam(required = false) Set<String> priceRanges) {
+        ProductFacetFilter filter = new ProductFacetFilter(category, sizes, colors, priceRanges);
+        return ResponseEntity.ok(productCatalogService.getFilteredCatalog(filter, page, size));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Suggest search completions from product names and popular searches")
+    public ResponseEntity<List<String>> autocomplete(
+            @RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(searchAutocompleteService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get detailed product information with variants for up to 200 product IDs")
+    public ResponseEntity<List<ProductDetailWithVariantsDTO>> getProductDetailsBatch(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productCatalogService.getProductDetailsWithVariants(ids));
     }
 
     @GetMapping("/{productId}")
     @Operation(summary = "Get detailed product information by ID")
-    public ResponseEntity<ProductListResponse.ProductDTO> getProductDetails(@PathVariable Long productId) {
-        return ResponseEntity.ok(productCatalogService.getProductDetails(productId));
+    public ResponseEntity<ProductListResponse.ProductDTO> getProductDetails(@PathVariable Long productId,
+                                                                            WebRequest webRequest) {
+        String etag = productCatalogService.getProductETag(productId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(productCatalogService.getProductDetails(productId));
     }
 
     @GetMapping("/{productId}/with-variants")
     @Operation(summary = "Get detailed product information by ID")
-    public ResponseEntity<ProductDetailWithVariantsDTO> getProductDetailsWithVariants(@PathVariable Long productId) {
-        return ResponseEntity.ok(productCatalogService.getProductDetailsWithVariants(productId));
+    public ResponseEntity<ProductDetailWithVariantsDTO> getProductDetailsWithVariants(@PathVariable Long productId,
+                                                                                      WebRequest webRequest) {
+        String etag = productCatalogService.getProductETag(productId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(productCatalogService.getProductDetailsWithVariants(productId));
     }
 }
\ No newline at end of file
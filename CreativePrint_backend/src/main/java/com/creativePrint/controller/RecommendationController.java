@@ -2,9 +2,8 @@ package com.creativePrint.controller;
 
 import com.creativePrint.dto.product.resp.ProductResponse;
 import com.creativePrint.enums.InteractionType;
-import com.creativePrint.model.Product;
+import com.creativePrint.enums.TrendingWindow;
 import com.creativePrint.model.User;
-import com.creativePrint.repository.ProductRepository;
 import com.creativePrint.service.RecommendationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,7 +17,6 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RecommendationController {
     private final RecommendationService recommendationService;
-    private final ProductRepository productRepository;
 
     @GetMapping("/personal")
     public ResponseEntity<List<ProductResponse>> getPersonalizedRecommendations(
@@ -36,8 +34,9 @@ public class RecommendationController {
 
     @GetMapping("/trending")
     public ResponseEntity<List<ProductResponse>> getTrendingProducts(
-            @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(recommendationService.getTrendingProducts(limit));
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "DAILY") TrendingWindow window) {
+        return ResponseEntity.ok(recommendationService.getTrendingProducts(window, limit));
     }
 
     @PostMapping("/track")
@@ -45,17 +44,15 @@ public class RecommendationController {
             @AuthenticationPrincipal User user,
             @RequestParam Long productId,
             @RequestParam InteractionType type) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Product not found"));
-        recommendationService.trackInteraction(user, product, type);
-        return ResponseEntity.ok().build();
+        recommendationService.trackInteraction(user.getId(), productId, type);
+        return ResponseEntity.accepted().build();
     }
 
     @PostMapping("/track/search")
     public ResponseEntity<Void> trackSearch(
             @AuthenticationPrincipal User user,
             @RequestParam String query) {
-        recommendationService.trackSearch(user, query);
-        return ResponseEntity.ok().build();
+        recommendationService.trackSearch(user.getId(), query);
+        return ResponseEntity.accepted().build();
     }
 }
\ No newline at end of file
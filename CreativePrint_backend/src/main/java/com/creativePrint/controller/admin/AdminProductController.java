@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import java.util.Map;
 import java.util.HashMap;
 
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.dto.product.resp.ProductResponse;
 import com.creativePrint.service.AdminProductService;
 
@@ -33,6 +34,15 @@ public class AdminProductController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> scrollProducts(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(adminProductService.scrollProducts(categoryId, cursor, size));
+    }
+
     @GetMapping("/{productId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long productId) {
@@ -0,0 +1,24 @@
+package com.creativePrint.controller.admin;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import lombok.RequiredArgsConstructor;
+import java.util.List;
+
+import com.creativePrint.dto.search.resp.TopSearchResponse;
+import com.creativePrint.service.SearchAutocompleteService;
+
+@RestController
+@RequestMapping("/api/admin/search")
+@RequiredArgsConstructor
+public class AdminSearchController {
+
+    private final SearchAutocompleteService searchAutocompleteService;
+
+    @GetMapping("/top")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<TopSearchResponse>> getTopSearches(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchAutocompleteService.getTopSearches(Math.max(1, Math.min(limit, 500))));
+    }
+}
@@ -0,0 +1,139 @@
+package com.creativePrint.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Round-robins read-only connections across the healthy replicas and falls back to the primary
+ * when none is available. Replica health and lag are refreshed by {@link #checkReplicas()}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbackCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.fallbackCounter = meterRegistry.counter("datasource.replica.fallback");
+
+        for (Replica replica : this.replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("pool", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(username, password);
+    }
+
+    private Connection route(String username, String password) throws SQLException {
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return open(replica.dataSource, username, password);
+            } catch (SQLException e) {
+                log.warn("Replica {} refused a connection, taking it out of rotation: {}", replica.name, e.getMessage());
+                replica.healthy = false;
+            }
+        }
+
+        fallbackCounter.increment();
+        return open(primary, username, password);
+    }
+
+    private Connection open(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-interval:5s}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagSeconds = resultSet.getDouble(1);
+                replica.healthy = replica.lagSeconds <= maxLagSeconds;
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.debug("Replica {} health check failed", replica.name, e);
+            }
+
+            if (wasHealthy != replica.healthy) {
+                log.warn("Replica {} is now {} (lag {}s)", replica.name,
+                        replica.healthy ? "healthy" : "out of rotation", replica.lagSeconds);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica pool {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
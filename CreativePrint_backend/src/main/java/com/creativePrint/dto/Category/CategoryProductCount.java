@@ -0,0 +1,3 @@
+package com.creativePrint.dto.category;
+
+public record CategoryProductCount(Long categoryId, Long count) {}
@@ -3,5 +3,6 @@ package com.creativePrint.dto.category;
 public record CategoryResponse(
     Long id,
     String name,
-    String description
-) {}
\ No newline at end of file
+    String description,
+    long productCount
+) {}
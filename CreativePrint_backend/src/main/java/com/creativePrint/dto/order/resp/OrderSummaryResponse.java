@@ -0,0 +1,14 @@
+package com.creativePrint.dto.order.resp;
+
+import java.time.Instant;
+
+import com.creativePrint.enums.OrderStatus;
+
+// One row of the order history; items come from GET /api/orders/{orderId}
+public record OrderSummaryResponse(
+    Long id,
+    Double totalPrice,
+    OrderStatus status,
+    Instant createdAt,
+    Long itemCount
+) {}
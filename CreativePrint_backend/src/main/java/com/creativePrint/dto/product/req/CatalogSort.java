@@ -0,0 +1,21 @@
+package com.creativePrint.dto.product.req;
+
+import org.springframework.data.domain.Sort;
+
+public enum CatalogSort {
+    NEWEST(Sort.by(Sort.Direction.DESC, "createdAt")),
+    PRICE_ASC(Sort.by(Sort.Direction.ASC, "minPrice")),
+    PRICE_DESC(Sort.by(Sort.Direction.DESC, "maxPrice")),
+    STOCK_DESC(Sort.by(Sort.Direction.DESC, "totalStock"));
+
+    private final Sort sort;
+
+    CatalogSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    // id breaks ties so offset pages stay stable when many products share a price or stock level
+    public Sort toSort() {
+        return sort.and(Sort.by(Sort.Direction.DESC, "id"));
+    }
+}
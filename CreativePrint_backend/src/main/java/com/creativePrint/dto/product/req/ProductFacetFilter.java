@@ -0,0 +1,17 @@
+package com.creativePrint.dto.product.req;
+
+import java.util.Set;
+
+// Values within one facet are OR-ed, facets are AND-ed together
+public record ProductFacetFilter(
+        String category,
+        Set<String> sizes,
+        Set<String> colors,
+        Set<String> priceRanges
+) {
+    public ProductFacetFilter {
+        sizes = sizes == null ? Set.of() : Set.copyOf(sizes);
+        colors = colors == null ? Set.of() : Set.copyOf(colors);
+        priceRanges = priceRanges == null ? Set.of() : Set.copyOf(priceRanges);
+    }
+}
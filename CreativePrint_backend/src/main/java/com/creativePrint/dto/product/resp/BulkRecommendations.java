@@ -0,0 +1,16 @@
+package com.creativePrint.dto.product.resp;
+
+import java.util.List;
+import java.util.Map;
+
+// Ranked product ids per user, with each recommended product stored once however many users it was picked for
+public record BulkRecommendations(
+        Map<Long, List<Long>> productIdsByUser,
+        Map<Long, ProductResponse> products
+) {
+    public List<ProductResponse> forUser(Long userId) {
+        return productIdsByUser.getOrDefault(userId, List.of()).stream()
+                .map(products::get)
+                .toList();
+    }
+}
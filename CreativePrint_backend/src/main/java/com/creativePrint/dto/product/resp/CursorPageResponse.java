@@ -0,0 +1,27 @@
+package com.creativePrint.dto.product.resp;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+    // Keyset queries fetch one row past the page; the slice says whether it was there, and the last row kept
+    // becomes the next cursor
+    public static <R, T> CursorPageResponse<T> of(Slice<R> rows,
+                                                  Function<? super R, ? extends T> mapper,
+                                                  Function<? super R, String> cursorOf) {
+        List<T> content = rows.getContent().stream()
+                .<T>map(mapper)
+                .toList();
+        String nextCursor = rows.hasNext()
+                ? cursorOf.apply(rows.getContent().get(rows.getNumberOfElements() - 1))
+                : null;
+        return new CursorPageResponse<>(content, content.size(), rows.hasNext(), nextCursor);
+    }
+}
@@ -0,0 +1,14 @@
+package com.creativePrint.dto.product.resp;
+
+import java.time.Instant;
+
+public record ProductCatalogRow(
+        Long id,
+        String name,
+        String description,
+        Double basePrice,
+        String designUrl,
+        String category,
+        Instant createdAt,
+        Integer stock
+) {}
@@ -0,0 +1,12 @@
+package com.creativePrint.dto.product.resp;
+
+// One row per variant (or one row with null variant fields for a product without variants)
+public record ProductFacetRow(
+        Long productId,
+        String category,
+        boolean archived,
+        Double basePrice,
+        String size,
+        String color,
+        Double priceAdjustment
+) {}
@@ -1,15 +1,22 @@
 package com.creativePrint.dto.product.resp;
 
 import java.util.List;
+import java.util.Map;
 
 public record ProductListResponse(
         List<ProductDTO> products,
         int totalPages,
         long totalItems,
         int currentPage,
-        List<String> categories
+        List<String> categories,
+        Map<String, Map<String, Integer>> facets
 ) {
 
+    public ProductListResponse(List<ProductDTO> products, int totalPages, long totalItems, int currentPage,
+                               List<String> categories) {
+        this(products, totalPages, totalItems, currentPage, categories, Map.of());
+    }
+
     public record ProductDTO(
             Long id,
             String name,
@@ -30,11 +37,24 @@ public record ProductListResponse(
                     product.getDesign().getDesignUrl(), // Use design image URL
                     product.getCategory().getName(),
                     false, // Default not hot, can be set by service
-                    calculateTotalStock(product)
+                    product.getTotalStock() != null ? product.getTotalStock() : calculateTotalStock(product)
+            );
+        }
+
+        public static ProductDTO fromCatalogRow(ProductCatalogRow row, boolean isHot) {
+            return new ProductDTO(
+                    row.id(),
+                    row.name(),
+                    row.description(),
+                    row.basePrice(),
+                    row.designUrl(),
+                    row.category(),
+                    isHot,
+                    row.stock()
             );
         }
 
-        // Calculate total stock from all variants
+        // Fallback for products not yet backfilled with totalStock
         private static int calculateTotalStock(com.creativePrint.model.Product product) {
             return product.getVariants().stream()
                     .mapToInt(variant -> variant.getStock())
@@ -0,0 +1,9 @@
+package com.creativePrint.dto.product.resp;
+
+public record ProductSearchDocument(
+        Long id,
+        String name,
+        String description,
+        String category,
+        String designName
+) {}
@@ -0,0 +1,13 @@
+package com.creativePrint.dto.product.resp;
+
+import java.time.Instant;
+
+// One row per design element (or one row with a null element for a design without elements)
+public record ProductSimilarityRow(
+        Long productId,
+        Long categoryId,
+        Long designerId,
+        String element,
+        Instant createdAt,
+        boolean archived
+) {}
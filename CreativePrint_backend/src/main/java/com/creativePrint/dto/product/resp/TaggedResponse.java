@@ -0,0 +1,11 @@
+package com.creativePrint.dto.product.resp;
+
+import com.creativePrint.cache.ETags;
+
+// A response body with the ETag computed from that same body, so a tag can never describe other content
+public record TaggedResponse<T>(T body, String etag) {
+
+    public static <T> TaggedResponse<T> of(T body) {
+        return new TaggedResponse<>(body, ETags.of(body));
+    }
+}
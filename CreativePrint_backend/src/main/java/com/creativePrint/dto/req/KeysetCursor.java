@@ -0,0 +1,45 @@
+package com.creativePrint.dto.req;
+
+import com.creativePrint.exception.entitesCustomExceptions.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Opaque keyset position for product and order listings ordered by (createdAt desc, id desc)
+public record KeysetCursor(Instant createdAt, Long id) {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Sorts after every real row, so the first page uses the same keyset query as the rest
+    private static final KeysetCursor START = new KeysetCursor(Instant.parse("9999-12-31T23:59:59Z"), Long.MAX_VALUE);
+
+    public static KeysetCursor start() {
+        return START;
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new KeysetCursor(createdAt, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Keyset queries carry their own ORDER BY, so only the (bounded) page size is needed
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
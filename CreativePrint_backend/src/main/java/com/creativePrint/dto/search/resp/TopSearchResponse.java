@@ -0,0 +1,9 @@
+package com.creativePrint.dto.search.resp;
+
+import java.time.Instant;
+
+public record TopSearchResponse(
+        String query,
+        long searchCount,
+        Instant lastSearchedAt
+) {}
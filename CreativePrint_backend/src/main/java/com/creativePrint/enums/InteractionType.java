@@ -1,9 +1,20 @@
 package com.creativePrint.enums;
 
 public enum InteractionType {
-    VIEW,
-    ADD_TO_CART,
-    PURCHASE,
-    SEARCH,
-    LIKE
-}
\ No newline at end of file
+    VIEW(1),
+    ADD_TO_CART(3),
+    PURCHASE(5),
+    SEARCH(1),
+    LIKE(2);
+
+    // How strongly the interaction signals interest, used when scoring recommendations
+    private final int weight;
+
+    InteractionType(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,8 @@
+package com.creativePrint.enums;
+
+// One side effect of an order change, delivered and retried on its own
+public enum OutboxEventType {
+    ORDER_CONFIRMATION,
+    ORDER_STATUS_CHANGE,
+    PURCHASE_TRACKING
+}
@@ -0,0 +1,8 @@
+package com.creativePrint.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    DELIVERED,
+    // Gave up after the maximum number of attempts; kept for inspection and manual replay
+    DEAD
+}
@@ -0,0 +1,20 @@
+package com.creativePrint.enums;
+
+import java.time.Duration;
+
+public enum TrendingWindow {
+    HOURLY(Duration.ofHours(1)),
+    DAILY(Duration.ofDays(1)),
+    WEEKLY(Duration.ofDays(7));
+
+    // An interaction counts half as much after one half-life, a quarter after two, and so on
+    private final Duration halfLife;
+
+    TrendingWindow(Duration halfLife) {
+        this.halfLife = halfLife;
+    }
+
+    public Duration getHalfLife() {
+        return halfLife;
+    }
+}
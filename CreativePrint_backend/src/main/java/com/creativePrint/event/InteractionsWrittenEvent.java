@@ -0,0 +1,9 @@
+package com.creativePrint.event;
+
+import com.creativePrint.tracking.InteractionEvent;
+
+import java.util.List;
+
+// Published by the interaction writer once these rows are committed, so readers reloading state see them
+public record InteractionsWrittenEvent(List<InteractionEvent> events) {
+}
@@ -0,0 +1,5 @@
+package com.creativePrint.event;
+
+// Published when an order change appended outbox events; the dispatcher picks them up after commit
+public record OrderOutboxAppendedEvent(Long orderId) {
+}
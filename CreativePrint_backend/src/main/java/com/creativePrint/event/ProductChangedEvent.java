@@ -0,0 +1,44 @@
+package com.creativePrint.event;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Published by product writes. {@code previouslyListed}/{@code listed} say whether the product was
+ * visible in the catalog (not archived) before and after the change.
+ */
+public record ProductChangedEvent(
+        Long productId,
+        String previousCategory,
+        String category,
+        boolean previouslyListed,
+        boolean listed
+) {
+    public static ProductChangedEvent created(Long productId, String category) {
+        return new ProductChangedEvent(productId, null, category, false, true);
+    }
+
+    public static ProductChangedEvent updated(Long productId, String previousCategory, String category, boolean archived) {
+        return new ProductChangedEvent(productId, previousCategory, category, !archived, !archived);
+    }
+
+    public static ProductChangedEvent statusChanged(Long productId, String category, boolean wasArchived, boolean archived) {
+        return new ProductChangedEvent(productId, category, category, !wasArchived, !archived);
+    }
+
+    public static ProductChangedEvent removed(Long productId, String category, boolean wasArchived) {
+        return new ProductChangedEvent(productId, category, category, !wasArchived, false);
+    }
+
+    // Category names whose listings may contain this product before or after the change
+    public Set<String> affectedCategories() {
+        Set<String> categories = new HashSet<>();
+        if (previousCategory != null) {
+            categories.add(previousCategory);
+        }
+        if (category != null) {
+            categories.add(category);
+        }
+        return categories;
+    }
+}
@@ -0,0 +1,7 @@
+package com.creativePrint.exception.entitesCustomExceptions;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
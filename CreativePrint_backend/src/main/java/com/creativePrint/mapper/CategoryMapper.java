@@ -3,11 +3,16 @@ package com.creativePrint.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import com.creativePrint.cache.CategoryRegistry;
 import com.creativePrint.dto.category.CategoryResponse;
 import com.creativePrint.model.Categories;
 
 @Mapper(componentModel = "spring")
 public interface CategoryMapper {
+    CategoryResponse toResponse(CategoryRegistry.Entry category);
+
+    // Categories embedded in product responses carry no count
+    @Mapping(target = "productCount", ignore = true)
     CategoryResponse toResponse(Categories category);
 
 
@@ -12,6 +12,8 @@ import com.creativePrint.model.ProductVariant;
 @Mapper(componentModel = "spring", uses = {ProductVariantMapper.class, DesignMapper.class})
 public interface OrderItemMapper {
     @Mapping(target = "variant", source = "variantId", qualifiedByName = "idToVariant")
+    @Mapping(target = "partnerId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
     OrderItem toEntity(OrderItemRequest request);
 
     @Mapping(target = "design", source = "variant.product.design")
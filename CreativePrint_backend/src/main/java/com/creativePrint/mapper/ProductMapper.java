@@ -16,6 +16,9 @@ public interface ProductMapper {
     @Mapping(target = "category", ignore = true) 
     @Mapping(target = "design", ignore = true)  
     @Mapping(target = "variants", ignore = true) 
+    @Mapping(target = "totalStock", ignore = true)
+    @Mapping(target = "minPrice", ignore = true)
+    @Mapping(target = "maxPrice", ignore = true)
     Product toEntity(ProductRequest request);
 
     ProductResponse toResponse(Product product);
@@ -0,0 +1,27 @@
+package com.creativePrint.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Highest source row id a background job has processed, so it can resume incrementally
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "job_watermarks")
+public class JobWatermark {
+    @Id
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
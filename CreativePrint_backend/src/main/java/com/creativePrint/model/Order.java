@@ -14,7 +14,9 @@ import lombok.*;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "purchase_orders") 
+@Table(name = "purchase_orders", indexes = {
+        @Index(name = "idx_purchase_orders_buyer_created", columnList = "buyer_id, created_at, id")
+})
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
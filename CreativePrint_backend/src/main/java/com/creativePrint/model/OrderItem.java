@@ -3,15 +3,22 @@ package com.creativePrint.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_order_item_order", columnList = "order_id"),
+        @Index(name = "idx_order_item_partner_created", columnList = "partner_id, created_at")
+})
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class OrderItem {
+    // Sequence ids, fetched 50 at a time, let Hibernate batch item inserts; IDENTITY would force one per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -25,4 +32,13 @@ public class OrderItem {
     private Order order;
 
     private Double royaltyAmount;
+
+    // Copied from the design's creator and the order when the order is placed, so partner order pages and
+    // counts read this table's (partner_id, created_at) index instead of joining through variant, product
+    // and design
+    @Column(name = "partner_id")
+    private Long partnerId;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
 }
\ No newline at end of file
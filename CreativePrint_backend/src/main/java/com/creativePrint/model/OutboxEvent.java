@@ -0,0 +1,59 @@
+package com.creativePrint.model;
+
+import com.creativePrint.enums.OutboxEventType;
+import com.creativePrint.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// An order side effect written in the order's transaction and delivered after commit by the outbox dispatcher
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_events_order_status", columnList = "order_id, status")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventType type;
+
+    @Column(length = 1000)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    // Set while a dispatcher delivers the event, so another instance does not pick it up too
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "delivered_at")
+    private Instant deliveredAt;
+}
@@ -12,6 +12,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_product_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_product_category_created_at_id", columnList = "category_id, created_at, id"),
+        @Index(name = "idx_product_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_product_min_price_id", columnList = "min_price, id"),
+        @Index(name = "idx_product_max_price_id", columnList = "max_price, id"),
+        @Index(name = "idx_product_total_stock_id", columnList = "total_stock, id")
+})
 @Data
 @Builder
 @NoArgsConstructor  
@@ -44,6 +52,34 @@ public class Product {
 
     private boolean archived = false;
 
+    // Aggregates over the variants, kept in step by refreshAggregates() so listings never touch product_variant
+    @Column(name = "total_stock")
+    private Integer totalStock;
+    @Column(name = "min_price")
+    private Double minPrice;
+    @Column(name = "max_price")
+    private Double maxPrice;
+
+    public void refreshAggregates() {
+        int stock = 0;
+        double minAdjustment = Double.MAX_VALUE;
+        double maxAdjustment = -Double.MAX_VALUE;
+        for (ProductVariant variant : variants) {
+            stock += variant.getStock() != null ? variant.getStock() : 0;
+            double adjustment = variant.getPriceAdjustment() != null ? variant.getPriceAdjustment() : 0.0;
+            minAdjustment = Math.min(minAdjustment, adjustment);
+            maxAdjustment = Math.max(maxAdjustment, adjustment);
+        }
+        if (variants.isEmpty()) {
+            minAdjustment = 0.0;
+            maxAdjustment = 0.0;
+        }
+
+        double base = basePrice != null ? basePrice : 0.0;
+        this.totalStock = stock;
+        this.minPrice = base + minAdjustment;
+        this.maxPrice = base + maxAdjustment;
+    }
 
     @Override
     public boolean equals(Object o) {
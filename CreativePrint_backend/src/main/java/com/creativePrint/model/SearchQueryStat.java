@@ -0,0 +1,30 @@
+package com.creativePrint.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Search counts per normalized query, folded from SEARCH interactions by the interaction compactor
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "search_query_stats", indexes = {
+        @Index(name = "idx_search_query_stats_count", columnList = "search_count")
+})
+public class SearchQueryStat {
+    @Id
+    @Column(length = 100)
+    private String query;
+
+    @Column(name = "search_count", nullable = false)
+    private Long searchCount;
+
+    @Column(name = "last_searched_at")
+    private Instant lastSearchedAt;
+}
@@ -14,7 +14,9 @@ import java.time.Instant;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "user_interactions")
+@Table(name = "user_interactions", indexes = {
+        @Index(name = "idx_user_interactions_user_id", columnList = "user_id")
+})
 public class UserInteraction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,27 @@
+package com.creativePrint.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Compacted user_interactions: one row per user and product with the summed interaction weight
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_product_score")
+public class UserProductScore {
+    @EmbeddedId
+    private UserProductScoreId id;
+
+    @Column(name = "weighted_score", nullable = false)
+    private Long weightedScore;
+
+    @Column(name = "last_seen")
+    private Instant lastSeen;
+}
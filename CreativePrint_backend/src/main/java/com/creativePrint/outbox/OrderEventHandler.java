@@ -0,0 +1,47 @@
+package com.creativePrint.outbox;
+
+import com.creativePrint.enums.InteractionType;
+import com.creativePrint.model.Order;
+import com.creativePrint.model.OutboxEvent;
+import com.creativePrint.model.User;
+import com.creativePrint.repository.OrderRepository;
+import com.creativePrint.repository.UserRepository;
+import com.creativePrint.service.OrderNotificationService;
+import com.creativePrint.service.RecommendationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Performs one outbox event; any exception makes the dispatcher retry it later
+@Component
+@RequiredArgsConstructor
+public class OrderEventHandler {
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final OrderNotificationService notificationService;
+    private final RecommendationService recommendationService;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void handle(OutboxEvent event) throws JsonProcessingException {
+        Order order = orderRepository.findById(event.getOrderId())
+                .orElseThrow(() -> new EntityNotFoundException("Order not found: " + event.getOrderId()));
+
+        switch (event.getType()) {
+            case ORDER_CONFIRMATION -> notificationService.notifyOrderCreated(order);
+            case ORDER_STATUS_CHANGE -> {
+                OrderStatusChange change = objectMapper.readValue(event.getPayload(), OrderStatusChange.class);
+                User updatedBy = change.updatedById() != null
+                        ? userRepository.findById(change.updatedById()).orElse(null)
+                        : null;
+                notificationService.notifyOrderStatusChange(order, change.oldStatus(), change.newStatus(), updatedBy);
+            }
+            case PURCHASE_TRACKING -> recommendationService.trackInteractions(order.getBuyer().getId(),
+                    order.getItems().stream().map(item -> item.getVariant().getProduct().getId()).toList(),
+                    InteractionType.PURCHASE);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.creativePrint.outbox;
+
+import com.creativePrint.enums.OrderStatus;
+import com.creativePrint.enums.OutboxEventType;
+import com.creativePrint.enums.OutboxStatus;
+import com.creativePrint.event.OrderOutboxAppendedEvent;
+import com.creativePrint.model.Order;
+import com.creativePrint.model.OutboxEvent;
+import com.creativePrint.model.User;
+import com.creativePrint.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Records the side effects of an order change as outbox rows. Must be called inside the transaction that
+ * changes the order, so the events commit or roll back with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void orderCreated(Order order) {
+        append(order.getId(), List.of(
+                event(order.getId(), OutboxEventType.ORDER_CONFIRMATION, null),
+                event(order.getId(), OutboxEventType.PURCHASE_TRACKING, null)));
+    }
+
+    public void orderStatusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus, User updatedBy) {
+        OrderStatusChange change = new OrderStatusChange(oldStatus, newStatus, updatedBy != null ? updatedBy.getId() : null);
+        try {
+            append(order.getId(), List.of(event(order.getId(), OutboxEventType.ORDER_STATUS_CHANGE,
+                    objectMapper.writeValueAsString(change))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order status change", e);
+        }
+    }
+
+    private void append(Long orderId, List<OutboxEvent> events) {
+        outboxEventRepository.saveAll(events);
+        eventPublisher.publishEvent(new OrderOutboxAppendedEvent(orderId));
+    }
+
+    private OutboxEvent event(Long orderId, OutboxEventType type, String payload) {
+        Instant now = Instant.now();
+        return OutboxEvent.builder()
+                .orderId(orderId)
+                .type(type)
+                .payload(payload)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
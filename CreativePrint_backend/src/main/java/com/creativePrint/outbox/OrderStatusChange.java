@@ -0,0 +1,7 @@
+package com.creativePrint.outbox;
+
+import com.creativePrint.enums.OrderStatus;
+
+// Payload of an ORDER_STATUS_CHANGE event; updatedById is null for system changes
+public record OrderStatusChange(OrderStatus oldStatus, OrderStatus newStatus, Long updatedById) {
+}
@@ -0,0 +1,234 @@
+package com.creativePrint.outbox;
+
+import com.creativePrint.enums.OutboxStatus;
+import com.creativePrint.event.OrderOutboxAppendedEvent;
+import com.creativePrint.model.OutboxEvent;
+import com.creativePrint.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers outbox events on a small thread pool, off the request path. Each order's events run one at a time
+ * in id order: a failed event is retried with exponential backoff and holds back the events after it, until it
+ * is dead-lettered after the maximum number of attempts. Orders are spread over the pool, and a lease on each
+ * event keeps other instances from delivering it at the same time.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderEventHandler handler;
+    private final Clock clock;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration lease;
+    private final int batchSize;
+    private final Duration retention;
+    private final ExecutorService pool;
+
+    private final Set<Long> activeOrders = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final AtomicBoolean pollRequested = new AtomicBoolean();
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter deadLettered;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            OrderEventHandler handler,
+                            MeterRegistry meterRegistry,
+                            @Value("${outbox.dispatcher.threads:4}") int threads,
+                            @Value("${outbox.dispatcher.max-attempts:8}") int maxAttempts,
+                            @Value("${outbox.dispatcher.backoff:10s}") Duration backoff,
+                            @Value("${outbox.dispatcher.lease:5m}") Duration lease,
+                            @Value("${outbox.dispatcher.batch-size:100}") int batchSize,
+                            @Value("${outbox.retention:7d}") Duration retention) {
+        this(outboxEventRepository, handler, meterRegistry, Clock.systemUTC(), threads, maxAttempts, backoff,
+                lease, batchSize, retention);
+    }
+
+    OutboxDispatcher(OutboxEventRepository outboxEventRepository, OrderEventHandler handler,
+                     MeterRegistry meterRegistry, Clock clock, int threads, int maxAttempts, Duration backoff,
+                     Duration lease, int batchSize, Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handler = handler;
+        this.clock = clock;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.lease = lease;
+        this.batchSize = batchSize;
+        this.retention = retention;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.delivered = meterRegistry.counter("outbox.delivered");
+        this.retried = meterRegistry.counter("outbox.retried");
+        this.deadLettered = meterRegistry.counter("outbox.dead");
+        Gauge.builder("outbox.active.orders", activeOrders, Set::size).register(meterRegistry);
+    }
+
+    // Runs after the order transaction commits, so the new rows are visible
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOutboxAppended(OrderOutboxAppendedEvent event) {
+        try {
+            pool.execute(this::poll);
+        } catch (RejectedExecutionException e) {
+            log.debug("Outbox dispatcher is shutting down; order {} will be delivered on the next start", event.orderId());
+        }
+    }
+
+    // Catches retries that became due and anything a wake-up missed
+    @Scheduled(initialDelayString = "${outbox.dispatcher.initial-delay:10s}",
+            fixedDelayString = "${outbox.dispatcher.poll-interval:5s}")
+    public void poll() {
+        pollRequested.set(true);
+        while (pollRequested.get() && polling.compareAndSet(false, true)) {
+            try {
+                pollRequested.set(false);
+                dispatchDue();
+            } catch (RuntimeException e) {
+                log.error("Outbox poll failed", e);
+            } finally {
+                polling.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.prune-interval:1h}")
+    public void pruneDelivered() {
+        int pruned = outboxEventRepository.deleteDeliveredBefore(clock.instant().minus(retention));
+        if (pruned > 0) {
+            log.info("Pruned {} delivered outbox events", pruned);
+        }
+    }
+
+    private void dispatchDue() {
+        List<Long> orderIds = outboxEventRepository.findOrdersWithDueEvents(clock.instant(), PageRequest.of(0, batchSize));
+        for (Long orderId : orderIds) {
+            if (!activeOrders.add(orderId)) {
+                continue;
+            }
+            try {
+                pool.execute(() -> {
+                    try {
+                        drain(orderId);
+                    } catch (RuntimeException e) {
+                        log.error("Outbox delivery for order {} failed", orderId, e);
+                    } finally {
+                        activeOrders.remove(orderId);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                activeOrders.remove(orderId);
+                return;
+            }
+        }
+    }
+
+    // Delivers the order's pending events in id order until one has to wait for a retry
+    void drain(Long orderId) {
+        while (true) {
+            Optional<OutboxEvent> next = outboxEventRepository.findFirstByOrderIdAndStatusOrderByIdAsc(orderId,
+                    OutboxStatus.PENDING);
+            if (next.isEmpty()) {
+                return;
+            }
+            OutboxEvent event = next.get();
+            Instant now = clock.instant();
+            if (event.getNextAttemptAt().isAfter(now)
+                    || outboxEventRepository.claim(event.getId(), now, now.plus(lease)) == 0) {
+                return;
+            }
+            if (!deliver(event)) {
+                return;
+            }
+        }
+    }
+
+    // True when the order's next event may follow: this one was delivered or dead-lettered
+    private boolean deliver(OutboxEvent event) {
+        try {
+            handler.handle(event);
+        } catch (Exception e) {
+            return fail(event, e);
+        }
+        event.setStatus(OutboxStatus.DELIVERED);
+        event.setAttempts(event.getAttempts() + 1);
+        event.setDeliveredAt(clock.instant());
+        event.setLockedUntil(null);
+        event.setLastError(null);
+        outboxEventRepository.save(event);
+        delivered.increment();
+        return true;
+    }
+
+    private boolean fail(OutboxEvent event, Exception error) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLockedUntil(null);
+        event.setLastError(truncate(error.getClass().getSimpleName() + ": " + error.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxStatus.DEAD);
+            outboxEventRepository.save(event);
+            deadLettered.increment();
+            log.error("Outbox event {} ({}) for order {} dead-lettered after {} attempts",
+                    event.getId(), event.getType(), event.getOrderId(), attempts, error);
+            return true;
+        }
+
+        event.setNextAttemptAt(clock.instant().plus(backoff(attempts)));
+        outboxEventRepository.save(event);
+        retried.increment();
+        log.warn("Outbox event {} ({}) for order {} failed, attempt {} of {}: {}",
+                event.getId(), event.getType(), event.getOrderId(), attempts, maxAttempts, error.getMessage());
+        return false;
+    }
+
+    // backoff, 2 * backoff, 4 * backoff, ... capped at an hour
+    Duration backoff(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Undelivered events stay PENDING; their leases expire and the next start picks them up
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,221 @@
+package com.creativePrint.recommendation;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Implicit-feedback alternating least squares (Hu, Koren and Volinsky). Summed interaction weights become
+ * confidences {@code 1 + alpha * ln(1 + weight)} on a binary preference; each half-step solves every user
+ * (or item) row independently, so rows are spread over the given fork/join pool.
+ */
+public class AlsTrainer {
+    private final int factors;
+    private final int iterations;
+    private final double regularization;
+    private final double alpha;
+    private final long seed;
+
+    private long[] userIds = new long[1024];
+    private long[] itemIds = new long[1024];
+    private float[] weights = new float[1024];
+    private int count;
+
+    /**
+     * Trained factors. Users are sorted by id; {@code seenItems[seenOffsets[u] .. seenOffsets[u + 1])} are the
+     * item indexes user {@code u} interacted with, and row {@code r} of a factor matrix starts at {@code r * factors}.
+     */
+    public record Result(int factors, long[] userIds, long[] itemIds, int[] seenOffsets, int[] seenItems,
+                         float[] userFactors, float[] itemFactors) {
+    }
+
+    public AlsTrainer(int factors, int iterations, double regularization, double alpha, long seed) {
+        this.factors = factors;
+        this.iterations = iterations;
+        this.regularization = regularization;
+        this.alpha = alpha;
+        this.seed = seed;
+    }
+
+    // Repeated (user, product) pairs are summed
+    public void accept(long userId, long productId, float weight) {
+        if (count == userIds.length) {
+            userIds = Arrays.copyOf(userIds, count * 2);
+            itemIds = Arrays.copyOf(itemIds, count * 2);
+            weights = Arrays.copyOf(weights, count * 2);
+        }
+        userIds[count] = userId;
+        itemIds[count] = productId;
+        weights[count] = weight;
+        count++;
+    }
+
+    public Result train(ForkJoinPool pool) {
+        long[] users = distinctSorted(userIds, count);
+        long[] items = distinctSorted(itemIds, count);
+        int[] userOf = new int[count];
+        int[] itemOf = new int[count];
+        for (int i = 0; i < count; i++) {
+            userOf[i] = Arrays.binarySearch(users, userIds[i]);
+            itemOf[i] = Arrays.binarySearch(items, itemIds[i]);
+        }
+
+        SparseRows byUser = SparseRows.of(users.length, userOf, itemOf, weights, count, alpha);
+        SparseRows byItem = SparseRows.of(items.length, itemOf, userOf, weights, count, alpha);
+
+        Random random = new Random(seed);
+        double[] userFactors = new double[users.length * factors];
+        double[] itemFactors = new double[items.length * factors];
+        for (int i = 0; i < itemFactors.length; i++) {
+            itemFactors[i] = random.nextGaussian() * 0.01;
+        }
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            solve(pool, byUser, itemFactors, userFactors);
+            solve(pool, byItem, userFactors, itemFactors);
+        }
+
+        return new Result(factors, users, items, byUser.offsets, byUser.columns,
+                toFloats(userFactors), toFloats(itemFactors));
+    }
+
+    // Recomputes every row of target against the fixed factors
+    private void solve(ForkJoinPool pool, SparseRows rows, double[] fixed, double[] target) {
+        double[] gram = gram(fixed);
+        try {
+            pool.submit(() -> IntStream.range(0, rows.size()).parallel()
+                    .forEach(row -> solveRow(rows, row, fixed, gram, target))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("ALS training interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("ALS training failed", e.getCause());
+        }
+    }
+
+    // A = YtY + Yt(C - I)Y + lambda * I, b = Yt C p; only the row's observed columns differ from YtY
+    private void solveRow(SparseRows rows, int row, double[] fixed, double[] gram, double[] target) {
+        int k = factors;
+        double[] a = gram.clone();
+        double[] b = new double[k];
+        for (int d = 0; d < k; d++) {
+            a[d * k + d] += regularization;
+        }
+        for (int n = rows.offsets[row]; n < rows.offsets[row + 1]; n++) {
+            int base = rows.columns[n] * k;
+            double confidence = rows.confidences[n];
+            for (int i = 0; i < k; i++) {
+                double yi = fixed[base + i];
+                b[i] += confidence * yi;
+                double scaled = (confidence - 1) * yi;
+                for (int j = 0; j <= i; j++) {
+                    a[i * k + j] += scaled * fixed[base + j];
+                }
+            }
+        }
+        choleskySolve(a, b, k);
+        System.arraycopy(b, 0, target, row * k, k);
+    }
+
+    private double[] gram(double[] matrix) {
+        int k = factors;
+        double[] gram = new double[k * k];
+        for (int base = 0; base < matrix.length; base += k) {
+            for (int i = 0; i < k; i++) {
+                double xi = matrix[base + i];
+                for (int j = 0; j <= i; j++) {
+                    gram[i * k + j] += xi * matrix[base + j];
+                }
+            }
+        }
+        return gram;
+    }
+
+    // Solves a x = b in place using the lower triangle of the symmetric positive definite a
+    static void choleskySolve(double[] a, double[] b, int k) {
+        for (int j = 0; j < k; j++) {
+            double diagonal = a[j * k + j];
+            for (int p = 0; p < j; p++) {
+                diagonal -= a[j * k + p] * a[j * k + p];
+            }
+            diagonal = Math.sqrt(Math.max(diagonal, 1e-12));
+            a[j * k + j] = diagonal;
+            for (int i = j + 1; i < k; i++) {
+                double value = a[i * k + j];
+                for (int p = 0; p < j; p++) {
+                    value -= a[i * k + p] * a[j * k + p];
+                }
+                a[i * k + j] = value / diagonal;
+            }
+        }
+        for (int i = 0; i < k; i++) {
+            double value = b[i];
+            for (int p = 0; p < i; p++) {
+                value -= a[i * k + p] * b[p];
+            }
+            b[i] = value / a[i * k + i];
+        }
+        for (int i = k - 1; i >= 0; i--) {
+            double value = b[i];
+            for (int p = i + 1; p < k; p++) {
+                value -= a[p * k + i] * b[p];
+            }
+            b[i] = value / a[i * k + i];
+        }
+    }
+
+    private static long[] distinctSorted(long[] values, int count) {
+        return Arrays.stream(values, 0, count).sorted().distinct().toArray();
+    }
+
+    private static float[] toFloats(double[] values) {
+        float[] floats = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            floats[i] = (float) values[i];
+        }
+        return floats;
+    }
+
+    // Compressed sparse rows with duplicate columns merged
+    private record SparseRows(int[] offsets, int[] columns, float[] confidences) {
+
+        int size() {
+            return offsets.length - 1;
+        }
+
+        static SparseRows of(int rowCount, int[] rowOf, int[] columnOf, float[] weights, int count, double alpha) {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (x, y) -> rowOf[x] != rowOf[y]
+                    ? Integer.compare(rowOf[x], rowOf[y]) : Integer.compare(columnOf[x], columnOf[y]));
+
+            int[] offsets = new int[rowCount + 1];
+            int[] columns = new int[count];
+            float[] summed = new float[count];
+            int size = 0;
+            for (int n = 0; n < count; n++) {
+                int i = order[n];
+                if (size > 0 && n > 0 && rowOf[order[n - 1]] == rowOf[i] && columns[size - 1] == columnOf[i]) {
+                    summed[size - 1] += weights[i];
+                    continue;
+                }
+                columns[size] = columnOf[i];
+                summed[size] = weights[i];
+                offsets[rowOf[i] + 1] = ++size;
+            }
+            for (int row = 1; row <= rowCount; row++) {
+                offsets[row] = Math.max(offsets[row], offsets[row - 1]);
+            }
+
+            float[] confidences = new float[size];
+            for (int n = 0; n < size; n++) {
+                confidences[n] = (float) (1 + alpha * Math.log1p(Math.max(summed[n], 0)));
+            }
+            return new SparseRows(offsets, Arrays.copyOf(columns, size), confidences);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.creativePrint.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable top-K item-to-item neighbour lists in flat primitive arrays. The neighbours of
+ * {@code productIds[i]} are {@code neighbors[offsets[i] .. offsets[i + 1])} with matching {@code scores},
+ * sorted by descending score.
+ */
+public final class CoOccurrenceModel {
+    public static final CoOccurrenceModel EMPTY = new CoOccurrenceModel(new long[0], new int[]{0}, new long[0], new float[0]);
+
+    private final long[] productIds;
+    private final int[] offsets;
+    private final long[] neighbors;
+    private final float[] scores;
+
+    CoOccurrenceModel(long[] productIds, int[] offsets, long[] neighbors, float[] scores) {
+        this.productIds = productIds;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.scores = scores;
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    public List<Long> neighbors(long productId, int limit) {
+        int index = Arrays.binarySearch(productIds, productId);
+        if (index < 0) {
+            return List.of();
+        }
+        int end = Math.min(offsets[index + 1], offsets[index] + limit);
+        List<Long> result = new ArrayList<>(end - offsets[index]);
+        for (int i = offsets[index]; i < end; i++) {
+            result.add(neighbors[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Sums the neighbour scores of every seed product, scaled by the seed's weight, and returns the
+     * best-scoring products that are not themselves seeds or excluded.
+     */
+    public List<Long> recommend(Map<Long, ? extends Number> seedWeights, Collection<Long> excluded, int limit) {
+        Map<Long, Float> candidates = new HashMap<>();
+        seedWeights.forEach((seed, weight) -> {
+            int index = Arrays.binarySearch(productIds, seed);
+            if (index < 0) {
+                return;
+            }
+            float seedWeight = weight.floatValue();
+            for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+                candidates.merge(neighbors[i], scores[i] * seedWeight, Float::sum);
+            }
+        });
+
+        Set<Long> seeds = seedWeights.keySet();
+        return candidates.entrySet().stream()
+                .filter(entry -> !seeds.contains(entry.getKey()) && !excluded.contains(entry.getKey()))
+                .sorted(Map.Entry.<Long, Float>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -0,0 +1,220 @@
+package com.creativePrint.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Builds a {@link CoOccurrenceModel} from interactions streamed in user order. Each user contributes
+ * {@code min(w_i, w_j)} to every pair of products they touched, and pair totals are normalised by
+ * {@code sqrt(W_i * W_j)} so that merely popular products do not dominate every neighbour list.
+ * Totals are kept in primitive maps with both product ids of a pair packed into one {@code long} key.
+ */
+public class CoOccurrenceModelBuilder {
+    // Caps keep one heavy user from costing O(n^2) pairs or outweighing everybody else
+    static final int MAX_PRODUCTS_PER_USER = 200;
+    static final float MAX_WEIGHT_PER_PRODUCT = 10f;
+
+    private final int neighborsPerProduct;
+    private final LongFloatHashMap pairWeights = new LongFloatHashMap(1 << 16);
+    private final LongFloatHashMap productWeights = new LongFloatHashMap(1 << 12);
+
+    private long currentUser;
+    private final LongFloatHashMap currentItems = new LongFloatHashMap(64);
+    private final TopK heaviestItems = new TopK(MAX_PRODUCTS_PER_USER);
+    private long[] itemIds = new long[MAX_PRODUCTS_PER_USER];
+    private float[] itemWeights = new float[MAX_PRODUCTS_PER_USER];
+
+    public CoOccurrenceModelBuilder(int neighborsPerProduct) {
+        this.neighborsPerProduct = neighborsPerProduct;
+    }
+
+    /**
+     * Adds one interaction. All interactions of a user must arrive consecutively.
+     */
+    public void accept(long userId, long productId, float weight) {
+        // Pair keys hold two ids in 32 bits each; catalog ids never leave the int range
+        if (productId < 0 || productId > Integer.MAX_VALUE) {
+            return;
+        }
+        if (userId != currentUser) {
+            flushUser();
+            currentUser = userId;
+        }
+        currentItems.addTo(productId, weight);
+    }
+
+    private void flushUser() {
+        if (currentItems.isEmpty()) {
+            return;
+        }
+
+        int count = collectItems();
+        for (int i = 0; i < count; i++) {
+            productWeights.addTo(itemIds[i], itemWeights[i]);
+        }
+
+        for (int i = 0; i < count; i++) {
+            long a = itemIds[i];
+            float wa = itemWeights[i];
+            for (int j = i + 1; j < count; j++) {
+                long b = itemIds[j];
+                float w = Math.min(wa, itemWeights[j]);
+                pairWeights.addTo(a << 32 | b, w);
+                pairWeights.addTo(b << 32 | a, w);
+            }
+        }
+        currentItems.clear();
+    }
+
+    // Copies the current user's heaviest items, weights already capped, into itemIds/itemWeights
+    private int collectItems() {
+        long[] ids = currentItems.keys();
+        if (ids.length <= MAX_PRODUCTS_PER_USER) {
+            for (int i = 0; i < ids.length; i++) {
+                itemIds[i] = ids[i];
+                itemWeights[i] = Math.min(currentItems.get(ids[i]), MAX_WEIGHT_PER_PRODUCT);
+            }
+            return ids.length;
+        }
+
+        heaviestItems.clear();
+        for (long id : ids) {
+            heaviestItems.offer(id, currentItems.get(id));
+        }
+        int count = heaviestItems.drainBestFirst(itemIds, itemWeights, 0);
+        for (int i = 0; i < count; i++) {
+            itemWeights[i] = Math.min(itemWeights[i], MAX_WEIGHT_PER_PRODUCT);
+        }
+        return count;
+    }
+
+    public CoOccurrenceModel build() {
+        flushUser();
+
+        // Sorting the packed keys groups every product's pairs together, products in ascending order
+        long[] pairs = pairWeights.keys();
+        Arrays.sort(pairs);
+
+        int productCount = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            if (i == 0 || pairs[i] >>> 32 != pairs[i - 1] >>> 32) {
+                productCount++;
+            }
+        }
+
+        long[] productIds = new long[productCount];
+        int[] offsets = new int[productCount + 1];
+        long[] neighbors = new long[(int) Math.min(pairs.length, (long) productCount * neighborsPerProduct)];
+        float[] scores = new float[neighbors.length];
+        TopK top = new TopK(neighborsPerProduct);
+
+        int cursor = 0;
+        int product = 0;
+        for (int start = 0; start < pairs.length; product++) {
+            long productId = pairs[start] >>> 32;
+            float productWeight = productWeights.get(productId);
+            productIds[product] = productId;
+            offsets[product] = cursor;
+
+            top.clear();
+            int end = start;
+            for (; end < pairs.length && pairs[end] >>> 32 == productId; end++) {
+                long neighbor = pairs[end] & 0xFFFFFFFFL;
+                float score = (float) (pairWeights.get(pairs[end])
+                        / Math.sqrt(productWeight * productWeights.get(neighbor)));
+                top.offer(neighbor, score);
+            }
+            cursor += top.drainBestFirst(neighbors, scores, cursor);
+            start = end;
+        }
+        offsets[productCount] = cursor;
+
+        return new CoOccurrenceModel(productIds, offsets, Arrays.copyOf(neighbors, cursor), Arrays.copyOf(scores, cursor));
+    }
+
+    /**
+     * Min-heap of the best {@code k} (id, score) pairs offered so far. On equal scores the lower id ranks higher.
+     */
+    private static final class TopK {
+        private final long[] ids;
+        private final float[] scores;
+        private int size;
+
+        TopK(int k) {
+            ids = new long[k];
+            scores = new float[k];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void offer(long id, float score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && ranksBelow(ids[0], scores[0], id, score)) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        // Writes the kept pairs best first starting at from, empties the heap and returns how many were written
+        int drainBestFirst(long[] outIds, float[] outScores, int from) {
+            int count = size;
+            for (int i = count - 1; i >= 0; i--) {
+                outIds[from + i] = ids[0];
+                outScores[from + i] = scores[0];
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return count;
+        }
+
+        private static boolean ranksBelow(long id, float score, long otherId, float otherScore) {
+            return score < otherScore || (score == otherScore && id > otherId);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!ranksBelow(ids[index], scores[index], ids[parent], scores[parent])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int lowest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && ranksBelow(ids[left], scores[left], ids[lowest], scores[lowest])) {
+                    lowest = left;
+                }
+                if (right < size && ranksBelow(ids[right], scores[right], ids[lowest], scores[lowest])) {
+                    lowest = right;
+                }
+                if (lowest == index) {
+                    return;
+                }
+                swap(index, lowest);
+                index = lowest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
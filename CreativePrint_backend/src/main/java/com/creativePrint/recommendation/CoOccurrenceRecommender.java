@@ -0,0 +1,73 @@
+package com.creativePrint.recommendation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the current co-occurrence model and rebuilds it on a schedule from one streamed pass
+ * over the user_product_score rollup. Readers always see a complete model; a rebuild swaps the reference.
+ */
+@Slf4j
+@Component
+public class CoOccurrenceRecommender {
+    private static final String INTERACTIONS_SQL =
+            "SELECT user_id, product_id, weighted_score FROM user_product_score ORDER BY user_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final int neighborsPerProduct;
+
+    private volatile CoOccurrenceModel model = CoOccurrenceModel.EMPTY;
+
+    public CoOccurrenceRecommender(DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${recommendation.cooccurrence.neighbors:50}") int neighborsPerProduct) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(5000);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.neighborsPerProduct = neighborsPerProduct;
+    }
+
+    public List<Long> recommend(Map<Long, ? extends Number> seedWeights, Collection<Long> excluded, int limit) {
+        return model.recommend(seedWeights, excluded, limit);
+    }
+
+    // The model current at the time of the call; bulk jobs hold on to one so every user is ranked against it
+    public CoOccurrenceModel snapshot() {
+        return model;
+    }
+
+    public List<Long> neighbors(long productId, int limit) {
+        return model.neighbors(productId, limit);
+    }
+
+    @Scheduled(initialDelayString = "${recommendation.cooccurrence.initial-delay:30s}",
+            fixedDelayString = "${recommendation.cooccurrence.rebuild-interval:1h}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        CoOccurrenceModelBuilder builder = new CoOccurrenceModelBuilder(neighborsPerProduct);
+
+        // Read-only transaction so the driver streams with a cursor; the connection goes back before build()
+        readTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.query(INTERACTIONS_SQL, rs -> {
+                builder.accept(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+            });
+        });
+
+        CoOccurrenceModel rebuilt = builder.build();
+        model = rebuilt;
+        log.info("Co-occurrence model rebuilt for {} products in {} ms", rebuilt.size(),
+                System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,106 @@
+package com.creativePrint.recommendation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Exponentially decayed per-product scores using forward decay: each hit is stored as
+ * {@code weight * 2^((t - landmark) / halfLife)}, so old entries never need touching on insert and raw values
+ * rank correctly at any time. The landmark is moved forward (rescaling every entry) before the factor overflows.
+ */
+class DecayedCounter {
+    private static final double RESCALE_EXPONENT = 64;
+    private static final double PRUNE_BELOW = 1e-3;
+
+    private final double halfLifeMillis;
+    private final Map<Long, DoubleAdder> scores = new ConcurrentHashMap<>();
+    // Hits share the read lock and only contend on their product's adder; rescaling takes the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile long landmarkMillis;
+    private volatile List<Long> ranking = List.of();
+
+    DecayedCounter(long halfLifeMillis, long nowMillis) {
+        this.halfLifeMillis = halfLifeMillis;
+        this.landmarkMillis = nowMillis;
+    }
+
+    void add(long productId, double weight, long atMillis) {
+        while (true) {
+            // The landmark is read under the lock, so a concurrent rescale cannot land between scaling this
+            // hit and adding it
+            lock.readLock().lock();
+            try {
+                double exponent = (atMillis - landmarkMillis) / halfLifeMillis;
+                if (exponent <= RESCALE_EXPONENT) {
+                    scores.computeIfAbsent(productId, id -> new DoubleAdder()).add(weight * Math.pow(2, exponent));
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            // A read lock cannot be upgraded; rescale under the write lock, then re-read the new landmark
+            rescale(atMillis);
+        }
+    }
+
+    /**
+     * Decayed score as of {@code nowMillis}.
+     */
+    double score(long productId, long nowMillis) {
+        lock.readLock().lock();
+        try {
+            DoubleAdder adder = scores.get(productId);
+            return adder == null ? 0 : adder.sum() * Math.pow(2, -(nowMillis - landmarkMillis) / halfLifeMillis);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Long> top(int limit) {
+        List<Long> current = ranking;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    void rebuildRanking(int size) {
+        List<Map.Entry<Long, Double>> entries = new ArrayList<>(scores.size());
+        lock.readLock().lock();
+        try {
+            scores.forEach((id, adder) -> entries.add(Map.entry(id, adder.sum())));
+        } finally {
+            lock.readLock().unlock();
+        }
+        ranking = entries.stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void rescale(long nowMillis) {
+        lock.writeLock().lock();
+        try {
+            double exponent = (nowMillis - landmarkMillis) / halfLifeMillis;
+            if (exponent <= RESCALE_EXPONENT) {
+                return; // another thread rescaled first
+            }
+            double factor = Math.pow(2, -exponent);
+            scores.replaceAll((id, adder) -> {
+                DoubleAdder scaled = new DoubleAdder();
+                scaled.add(adder.sum() * factor);
+                return scaled;
+            });
+            scores.values().removeIf(adder -> adder.sum() < PRUNE_BELOW);
+            landmarkMillis = nowMillis;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.creativePrint.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing {@code long -> float} map with linear probing. Used for the co-occurrence totals, which run
+ * to millions of entries and would cost a boxed key, value and map node each in a {@link java.util.HashMap}.
+ */
+final class LongFloatHashMap {
+    private long[] keys;
+    private float[] values;
+    private boolean[] used;
+    private int size;
+    private final int initialCapacity;
+
+    LongFloatHashMap(int expectedSize) {
+        initialCapacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        allocate(initialCapacity);
+    }
+
+    void addTo(long key, float delta) {
+        int slot = slot(key);
+        if (used[slot]) {
+            values[slot] += delta;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        used[slot] = true;
+        // Kept at most half full so probe runs stay short
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    // 0 for absent keys
+    float get(long key) {
+        int slot = slot(key);
+        return used[slot] ? values[slot] : 0f;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Shrinks back after a large batch, so clearing costs the same for every batch that follows
+    void clear() {
+        if (size == 0) {
+            return;
+        }
+        if (keys.length > initialCapacity) {
+            allocate(initialCapacity);
+        } else {
+            Arrays.fill(used, false);
+        }
+        size = 0;
+    }
+
+    long[] keys() {
+        long[] result = new long[size];
+        int n = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                result[n++] = keys[slot];
+            }
+        }
+        return result;
+    }
+
+    // The slot holding key, or the free slot where it would go
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        long hash = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new float[capacity];
+        used = new boolean[capacity];
+    }
+}
@@ -0,0 +1,255 @@
+package com.creativePrint.recommendation;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * User and item factor matrices read straight from a memory-mapped file, so a model costs page cache rather
+ * than heap and is shared by every request thread. File layout (big-endian):
+ * <pre>
+ * int magic, int version, int factors, int users, int items, int seen
+ * long[users] userIds (ascending), long[items] itemIds
+ * int[users + 1] seenOffsets, int[seen] seenItems
+ * float[users * factors] userFactors, float[items * factors] itemFactors
+ * </pre>
+ */
+public final class MatrixFactorizationModel {
+    public static final MatrixFactorizationModel EMPTY = new MatrixFactorizationModel();
+
+    private static final int MAGIC = 0x43504D46;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    private final int factors;
+    private final int users;
+    private final int items;
+    private final LongBuffer userIds;
+    private final LongBuffer itemIds;
+    private final IntBuffer seenOffsets;
+    private final IntBuffer seenItems;
+    private final FloatBuffer userFactors;
+    private final FloatBuffer itemFactors;
+
+    private record Candidate(long productId, float score) {
+    }
+
+    private MatrixFactorizationModel() {
+        this(0, 0, 0, LongBuffer.allocate(0), LongBuffer.allocate(0), IntBuffer.allocate(1), IntBuffer.allocate(0),
+                FloatBuffer.allocate(0), FloatBuffer.allocate(0));
+    }
+
+    private MatrixFactorizationModel(int factors, int users, int items, LongBuffer userIds, LongBuffer itemIds,
+                                     IntBuffer seenOffsets, IntBuffer seenItems,
+                                     FloatBuffer userFactors, FloatBuffer itemFactors) {
+        this.factors = factors;
+        this.users = users;
+        this.items = items;
+        this.userIds = userIds;
+        this.itemIds = itemIds;
+        this.seenOffsets = seenOffsets;
+        this.seenItems = seenItems;
+        this.userFactors = userFactors;
+        this.itemFactors = itemFactors;
+    }
+
+    // Writes to a sibling temp file, syncs it and renames it into place, so readers only ever see a complete
+    // file; mappings of the previous file stay valid
+    public static void write(Path path, AlsTrainer.Result result) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+             OutputStream file = Channels.newOutputStream(channel);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(result.factors());
+            out.writeInt(result.userIds().length);
+            out.writeInt(result.itemIds().length);
+            out.writeInt(result.seenItems().length);
+            for (long id : result.userIds()) {
+                out.writeLong(id);
+            }
+            for (long id : result.itemIds()) {
+                out.writeLong(id);
+            }
+            for (int offset : result.seenOffsets()) {
+                out.writeInt(offset);
+            }
+            for (int item : result.seenItems()) {
+                out.writeInt(item);
+            }
+            for (float value : result.userFactors()) {
+                out.writeFloat(value);
+            }
+            for (float value : result.itemFactors()) {
+                out.writeFloat(value);
+            }
+            out.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static MatrixFactorizationModel open(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // A single mapping is capped at 2 GB; map() would throw IllegalArgumentException past that
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Recommendation model " + path + " is " + channel.size()
+                        + " bytes, more than one mapping can hold");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a recommendation model file: " + path);
+        }
+        int factors = buffer.getInt(8);
+        int users = buffer.getInt(12);
+        int items = buffer.getInt(16);
+        int seen = buffer.getInt(20);
+
+        // A truncated or foreign file would otherwise only fail at request time with IndexOutOfBounds
+        if (factors < 0 || users < 0 || items < 0 || seen < 0) {
+            throw new IOException("Corrupt recommendation model header in " + path);
+        }
+        long expected = HEADER_BYTES
+                + ((long) users + items) * Long.BYTES
+                + ((long) users + 1 + seen) * Integer.BYTES
+                + ((long) users + items) * factors * Float.BYTES;
+        if (buffer.capacity() != expected) {
+            throw new IOException("Recommendation model " + path + " is " + buffer.capacity()
+                    + " bytes, header describes " + expected);
+        }
+
+        // The size check bounds every section, so the exact arithmetic only trips on a bug here
+        int position = HEADER_BYTES;
+        int length = Math.multiplyExact(users, Long.BYTES);
+        LongBuffer userIds = buffer.slice(position, length).asLongBuffer();
+        position = Math.addExact(position, length);
+        length = Math.multiplyExact(items, Long.BYTES);
+        LongBuffer itemIds = buffer.slice(position, length).asLongBuffer();
+        position = Math.addExact(position, length);
+        length = Math.multiplyExact(users + 1, Integer.BYTES);
+        IntBuffer seenOffsets = buffer.slice(position, length).asIntBuffer();
+        position = Math.addExact(position, length);
+        length = Math.multiplyExact(seen, Integer.BYTES);
+        IntBuffer seenItems = buffer.slice(position, length).asIntBuffer();
+        position = Math.addExact(position, length);
+        length = Math.multiplyExact(Math.multiplyExact(users, factors), Float.BYTES);
+        FloatBuffer userFactors = buffer.slice(position, length).asFloatBuffer();
+        position = Math.addExact(position, length);
+        length = Math.multiplyExact(Math.multiplyExact(items, factors), Float.BYTES);
+        FloatBuffer itemFactors = buffer.slice(position, length).asFloatBuffer();
+
+        if (seenOffsets.get(0) != 0 || seenOffsets.get(users) != seen) {
+            throw new IOException("Corrupt seen-item offsets in recommendation model " + path);
+        }
+
+        return new MatrixFactorizationModel(factors, users, items, userIds, itemIds, seenOffsets, seenItems,
+                userFactors, itemFactors);
+    }
+
+    public int users() {
+        return users;
+    }
+
+    public int items() {
+        return items;
+    }
+
+    public boolean hasUser(long userId) {
+        return userIndex(userId) >= 0;
+    }
+
+    /**
+     * Ranks every item by its dot product with the user's factors and returns the best ones the user has not
+     * interacted with in the training data and that are not excluded. Unknown users get an empty list.
+     */
+    public List<Long> recommend(long userId, Collection<Long> excluded, int limit) {
+        int user = userIndex(userId);
+        if (user < 0 || limit <= 0) {
+            return List.of();
+        }
+
+        float[] vector = new float[factors];
+        userFactors.get(user * factors, vector);
+        Set<Integer> seen = new HashSet<>();
+        for (int n = seenOffsets.get(user); n < seenOffsets.get(user + 1); n++) {
+            seen.add(seenItems.get(n));
+        }
+
+        Comparator<Candidate> order = Comparator.comparingDouble(Candidate::score);
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, order);
+        float[] row = new float[factors];
+        for (int item = 0; item < items; item++) {
+            if (seen.contains(item)) {
+                continue;
+            }
+            itemFactors.get(item * factors, row);
+            float score = dot(vector, row);
+            if (top.size() < limit || score > top.peek().score()) {
+                long productId = itemIds.get(item);
+                if (excluded.contains(productId)) {
+                    continue;
+                }
+                top.add(new Candidate(productId, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(order.reversed());
+        return ranked.stream().map(Candidate::productId).toList();
+    }
+
+    // Scalar loop: the Vector API would let this use SIMD lanes but is still an incubator module
+    private static float dot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private int userIndex(long userId) {
+        int low = 0;
+        int high = users - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = userIds.get(mid);
+            if (id < userId) {
+                low = mid + 1;
+            } else if (id > userId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
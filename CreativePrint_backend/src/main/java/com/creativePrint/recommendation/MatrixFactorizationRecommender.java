@@ -0,0 +1,141 @@
+package com.creativePrint.recommendation;
+
+import com.creativePrint.event.ProductChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Serves recommendations from the memory-mapped ALS model and retrains it on a schedule. Training writes a
+ * new file and swaps the mapping, so requests never touch the database and a retrain needs no restart.
+ * Products archived or removed since training are tracked in memory and skipped when ranking.
+ */
+@Slf4j
+@Component
+public class MatrixFactorizationRecommender {
+    private static final String SCORES_SQL = "SELECT user_id, product_id, weighted_score FROM user_product_score";
+    private static final String UNLISTED_SQL = "SELECT id FROM product WHERE archived = true";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final Path modelPath;
+    private final int factors;
+    private final int iterations;
+    private final double regularization;
+    private final double alpha;
+    private final ForkJoinPool trainingPool;
+
+    private volatile MatrixFactorizationModel model = MatrixFactorizationModel.EMPTY;
+    private final Set<Long> unlisted = ConcurrentHashMap.newKeySet();
+
+    public MatrixFactorizationRecommender(DataSource dataSource,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${recommendation.als.model-path:data/als-model.bin}") Path modelPath,
+                                          @Value("${recommendation.als.factors:32}") int factors,
+                                          @Value("${recommendation.als.iterations:10}") int iterations,
+                                          @Value("${recommendation.als.regularization:0.1}") double regularization,
+                                          @Value("${recommendation.als.alpha:10}") double alpha,
+                                          @Value("${recommendation.als.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(5000);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.modelPath = modelPath;
+        this.factors = factors;
+        this.iterations = iterations;
+        this.regularization = regularization;
+        this.alpha = alpha;
+        this.trainingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public MatrixFactorizationModel snapshot() {
+        return model;
+    }
+
+    // Products the model may still rank but the catalog no longer lists; pass as the exclusion set
+    public Set<Long> unlistedProducts() {
+        return Collections.unmodifiableSet(unlisted);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.listed()) {
+            unlisted.remove(event.productId());
+        } else {
+            unlisted.add(event.productId());
+        }
+    }
+
+    // A model left by the previous run is served straight away; the first retrain replaces it
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadModel() {
+        readTransaction.executeWithoutResult(status -> loadUnlisted());
+        if (!Files.exists(modelPath)) {
+            return;
+        }
+        try {
+            swap(MatrixFactorizationModel.open(modelPath));
+        } catch (IOException e) {
+            log.warn("Could not load recommendation model from {}", modelPath, e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${recommendation.als.initial-delay:2m}",
+            fixedDelayString = "${recommendation.als.retrain-interval:6h}")
+    public void train() {
+        long started = System.currentTimeMillis();
+        AlsTrainer trainer = new AlsTrainer(factors, iterations, regularization, alpha, started);
+        // Only the read holds a connection; training and the file write run after it is returned to the pool
+        readTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.query(SCORES_SQL, rs -> {
+                trainer.accept(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+            });
+            loadUnlisted();
+        });
+
+        try {
+            MatrixFactorizationModel.write(modelPath, trainer.train(trainingPool));
+            swap(MatrixFactorizationModel.open(modelPath));
+            log.info("Recommendation model trained in {} ms", System.currentTimeMillis() - started);
+        } catch (IOException e) {
+            log.error("Could not write recommendation model to {}", modelPath, e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        trainingPool.shutdownNow();
+    }
+
+    // Replaced in place rather than cleared, so rankings never see an empty set mid-refresh
+    private void loadUnlisted() {
+        Set<Long> archived = new HashSet<>(jdbcTemplate.queryForList(UNLISTED_SQL, Long.class));
+        unlisted.retainAll(archived);
+        unlisted.addAll(archived);
+    }
+
+    private void swap(MatrixFactorizationModel loaded) {
+        model = loaded;
+        log.info("Recommendation model loaded with {} users and {} products", loaded.users(), loaded.items());
+    }
+}
@@ -0,0 +1,105 @@
+package com.creativePrint.recommendation;
+
+import com.creativePrint.enums.TrendingWindow;
+import com.creativePrint.service.ProductSimilarityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Decayed interaction scores per product for each {@link TrendingWindow}, updated as interactions are
+ * tracked. Rankings are re-sorted on a short schedule so {@link #top} only copies a prefix. Only listed products
+ * are counted: the counters prune rarely, so unknown ids would otherwise pile up and crowd real products out of
+ * the ranking.
+ */
+@Slf4j
+@Component
+public class TrendingEngine {
+    static final int RANKING_SIZE = 200;
+    // Beyond eight half-lives of the longest window an interaction is worth less than 1/256 of a fresh one
+    private static final int SEED_HALF_LIVES = 8;
+    private static final String SEED_SQL = "SELECT i.product_id, COALESCE(i.weight, 1), i.timestamp FROM user_interactions i " +
+            "JOIN product p ON p.id = i.product_id AND p.archived = false " +
+            "WHERE i.timestamp >= ? AND i.timestamp < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final LongPredicate listed;
+    private final long startedMillis;
+    private final Map<TrendingWindow, DecayedCounter> counters = new EnumMap<>(TrendingWindow.class);
+
+    @Autowired
+    public TrendingEngine(DataSource dataSource, ProductSimilarityService productSimilarityService) {
+        this(new JdbcTemplate(dataSource), Clock.systemUTC(), productSimilarityService::isListed);
+        this.jdbcTemplate.setFetchSize(5000);
+    }
+
+    TrendingEngine(JdbcTemplate jdbcTemplate, Clock clock, LongPredicate listed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.listed = listed;
+        this.startedMillis = clock.millis();
+        for (TrendingWindow window : TrendingWindow.values()) {
+            counters.put(window, new DecayedCounter(window.getHalfLife().toMillis(), clock.millis()));
+        }
+    }
+
+    public void record(long productId, double weight) {
+        if (listed.test(productId)) {
+            record(productId, weight, clock.millis());
+        }
+    }
+
+    private void record(long productId, double weight, long atMillis) {
+        for (DecayedCounter counter : counters.values()) {
+            counter.add(productId, weight, atMillis);
+        }
+    }
+
+    public List<Long> top(TrendingWindow window, int limit) {
+        return counters.get(window).top(limit);
+    }
+
+    public double score(TrendingWindow window, long productId) {
+        return counters.get(window).score(productId, clock.millis());
+    }
+
+    @Scheduled(fixedDelayString = "${recommendation.trending.ranking-refresh:5s}")
+    public void refreshRankings() {
+        counters.values().forEach(counter -> counter.rebuildRanking(RANKING_SIZE));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        long longestHalfLife = counters.keySet().stream()
+                .mapToLong(window -> window.getHalfLife().toMillis())
+                .max()
+                .orElse(0);
+        Timestamp since = new Timestamp(startedMillis - SEED_HALF_LIVES * longestHalfLife);
+        // Anything newer was already recorded live by this instance
+        Timestamp until = new Timestamp(startedMillis);
+
+        int[] rows = {0};
+        jdbcTemplate.query(SEED_SQL, rs -> {
+            record(rs.getLong(1), rs.getInt(2), rs.getTimestamp(3).getTime());
+            rows[0]++;
+        }, since, until);
+
+        refreshRankings();
+        log.info("Trending engine seeded from {} interactions", rows[0]);
+    }
+}
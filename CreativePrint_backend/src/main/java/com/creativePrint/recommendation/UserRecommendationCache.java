@@ -0,0 +1,32 @@
+package com.creativePrint.recommendation;
+
+import com.creativePrint.config.CacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Ranked recommendation ids per user. Bounded by size and TTL; entries are dropped when the user does something
+ * that changes their profile materially (see {@link #invalidate}).
+ */
+@Component
+public class UserRecommendationCache {
+    private final Cache<Object, Object> cache;
+
+    public UserRecommendationCache(CacheManager cacheManager) {
+        this.cache = ((CaffeineCache) cacheManager.getCache(CacheConfig.USER_RECOMMENDATIONS_CACHE)).getNativeCache();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Long> get(Long userId, Supplier<List<Long>> loader) {
+        return (List<Long>) cache.get(userId, id -> List.copyOf(loader.get()));
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+}
@@ -1,9 +1,17 @@
 package com.creativePrint.repository;
+import com.creativePrint.dto.category.CategoryProductCount;
 import com.creativePrint.model.Categories;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 
 public interface CategoriesRepository extends JpaRepository<Categories, Long> {
     Optional<Categories> findByName(String name);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.creativePrint.dto.category.CategoryProductCount(p.category.id, COUNT(p)) " +
+            "FROM Product p WHERE p.archived = false GROUP BY p.category.id")
+    List<CategoryProductCount> countListedProductsByCategory();
+}
@@ -2,6 +2,8 @@ package com.creativePrint.repository;
 import com.creativePrint.model.OrderItem;
 import com.creativePrint.model.ProductVariant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -9,4 +11,12 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByVariantIn(List<ProductVariant> variants);
 
     long countByVariantId(Long variantId);
-}
\ No newline at end of file
+
+    // Stamps the designer and order date on items written before the columns existed
+    @Modifying
+    @Query("UPDATE OrderItem i SET " +
+            "i.partnerId = (SELECT d.creator.id FROM ProductVariant v JOIN v.product p JOIN p.design d WHERE v = i.variant), " +
+            "i.createdAt = (SELECT o.createdAt FROM Order o WHERE o = i.order) " +
+            "WHERE i.partnerId IS NULL")
+    int backfillPartnerOwnership();
+}
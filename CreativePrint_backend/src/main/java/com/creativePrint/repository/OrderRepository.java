@@ -1,26 +1,70 @@
 package com.creativePrint.repository;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.creativePrint.dto.order.resp.OrderSummaryResponse;
 import com.creativePrint.model.Order;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByBuyerId(Long buyerId);
+    // Keyset page of a buyer's orders, newest first; only the summary columns and an item count are read
+    @Query("SELECT new com.creativePrint.dto.order.resp.OrderSummaryResponse(" +
+            "o.id, o.totalPrice, o.status, o.createdAt, (SELECT COUNT(i) FROM OrderItem i WHERE i.order = o)) " +
+            "FROM Order o WHERE o.buyer.id = :buyerId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<OrderSummaryResponse> findSummariesByBuyerAfter(@Param("buyerId") Long buyerId,
+                                                          @Param("createdAt") Instant createdAt,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
+
+    // An order with everything OrderMapper reads, in one statement
     @Query("SELECT DISTINCT o FROM Order o " +
-            "JOIN o.items i " +
-            "JOIN i.variant v " +
-            "JOIN v.product p " +
-            "JOIN p.design d " +
-            "WHERE d.creator.id = :partnerId")
-    Page<Order> findByItemsVariantProductDesignCreatorId(
-            @Param("partnerId") Long partnerId,
-            Pageable pageable
-    );
-
-    @Query("SELECT DISTINCT o FROM Order o JOIN o.items i JOIN i.variant v JOIN v.product p JOIN p.design d WHERE d.creator.id = :partnerId")
-    List<Order> findByItemsVariantProductDesignCreatorId(@Param("partnerId") Long partnerId);
+            "JOIN FETCH o.buyer b " +
+            "LEFT JOIN FETCH b.userProfile " +
+            "LEFT JOIN FETCH o.items i " +
+            "LEFT JOIN FETCH i.variant v " +
+            "LEFT JOIN FETCH v.product p " +
+            "LEFT JOIN FETCH p.category " +
+            "LEFT JOIN FETCH p.design d " +
+            "LEFT JOIN FETCH d.creator c " +
+            "LEFT JOIN FETCH c.userProfile " +
+            "WHERE o.id = :id")
+    Optional<Order> findDetailById(@Param("id") Long id);
+
+    // Orders with at least one item designed by the partner, in whatever order the caller's Pageable asks for
+    @Query(value = "SELECT o FROM Order o " +
+            "WHERE o.id IN (SELECT i.order.id FROM OrderItem i WHERE i.partnerId = :partnerId)",
+            countQuery = "SELECT COUNT(DISTINCT i.order.id) FROM OrderItem i WHERE i.partnerId = :partnerId")
+    Page<Order> findPartnerOrders(@Param("partnerId") Long partnerId, Pageable pageable);
+
+    // Items carry their order's date, so walking order_item's (partner_id, created_at) index newest first yields
+    // the newest orders without sorting every order the partner ever sold into
+    @Query(value = "SELECT i.order.id FROM OrderItem i WHERE i.partnerId = :partnerId " +
+            "GROUP BY i.order.id, i.createdAt ORDER BY i.createdAt DESC, i.order.id DESC",
+            countQuery = "SELECT COUNT(DISTINCT i.order.id) FROM OrderItem i WHERE i.partnerId = :partnerId")
+    Page<Long> findLatestPartnerOrderIds(@Param("partnerId") Long partnerId, Pageable pageable);
+
+    default Page<Order> findLatestPartnerOrders(Long partnerId, int limit) {
+        Page<Long> ids = findLatestPartnerOrderIds(partnerId, PageRequest.of(0, limit));
+        Map<Long, Order> byId = findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return ids.map(byId::get);
+    }
+
+    @Query("SELECT o FROM Order o " +
+            "WHERE o.id IN (SELECT i.order.id FROM OrderItem i WHERE i.partnerId = :partnerId AND i.createdAt >= :since)")
+    List<Order> findPartnerOrdersSince(@Param("partnerId") Long partnerId, @Param("since") Instant since);
 
+    boolean existsByIdAndItemsPartnerId(Long id, Long partnerId);
 }
\ No newline at end of file
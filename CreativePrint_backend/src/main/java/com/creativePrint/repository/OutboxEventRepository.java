@@ -0,0 +1,42 @@
+package com.creativePrint.repository;
+
+import com.creativePrint.enums.OutboxStatus;
+import com.creativePrint.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Orders whose oldest pending event is due, oldest first
+    @Query("SELECT e.orderId FROM OutboxEvent e " +
+            "WHERE e.status = com.creativePrint.enums.OutboxStatus.PENDING " +
+            "AND e.nextAttemptAt <= :now AND (e.lockedUntil IS NULL OR e.lockedUntil < :now) " +
+            "GROUP BY e.orderId ORDER BY MIN(e.id)")
+    List<Long> findOrdersWithDueEvents(@Param("now") Instant now, Pageable pageable);
+
+    Optional<OutboxEvent> findFirstByOrderIdAndStatusOrderByIdAsc(Long orderId, OutboxStatus status);
+
+    // Returns 1 if this caller now owns the event until the lease runs out
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.lockedUntil = :until " +
+            "WHERE e.id = :id AND e.status = com.creativePrint.enums.OutboxStatus.PENDING " +
+            "AND (e.lockedUntil IS NULL OR e.lockedUntil < :now)")
+    int claim(@Param("id") Long id, @Param("now") Instant now, @Param("until") Instant until);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.creativePrint.enums.OutboxStatus.DELIVERED " +
+            "AND e.deliveredAt < :before")
+    int deleteDeliveredBefore(@Param("before") Instant before);
+
+    long countByStatus(OutboxStatus status);
+}
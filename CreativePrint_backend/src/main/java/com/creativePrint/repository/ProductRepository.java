@@ -1,23 +1,31 @@
 package com.creativePrint.repository;
+import com.creativePrint.dto.product.resp.ProductCatalogRow;
+import com.creativePrint.dto.product.resp.ProductFacetRow;
+import com.creativePrint.dto.product.resp.ProductSimilarityRow;
+import com.creativePrint.dto.product.resp.ProductSearchDocument;
 import com.creativePrint.model.Product;
 import com.creativePrint.model.User;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
     Page<Product> findByDesignCreator(User creator, Pageable pageable);
-    @Query("SELECT p FROM Product p WHERE (p.category.id = :categoryId OR p.design.creator.id = :designerId) AND p.id != :productId")
-    List<Product> findSimilarProducts(@Param("categoryId") Long categoryId, @Param("designerId") Long designerId, @Param("productId") Long productId);
-    List<Product> findTop5ByOrderByCreatedAtDesc();
     Optional<Product> findByIdAndDesignCreator(Long productId, User creator);
 
     Page<Product> findByNameContainingIgnoreCase(String search, Pageable pageable);
@@ -29,5 +37,115 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Page<Product> findByCategoryIdAndArchived(Long categoryId, boolean archived, Pageable pageable);
 
+    // Catalog listing in one round trip: design, category and the precomputed stock come back with the row
+    @Query(value = "SELECT new com.creativePrint.dto.product.resp.ProductCatalogRow(" +
+            "p.id, p.name, p.description, p.basePrice, d.designUrl, c.name, p.createdAt, COALESCE(p.totalStock, 0)) " +
+            "FROM Product p JOIN p.design d JOIN p.category c " +
+            "WHERE p.archived = false ",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.archived = false")
+    Page<ProductCatalogRow> findCatalogRows(Pageable pageable);
 
-}
\ No newline at end of file
+    @Query(value = "SELECT new com.creativePrint.dto.product.resp.ProductCatalogRow(" +
+            "p.id, p.name, p.description, p.basePrice, d.designUrl, c.name, p.createdAt, COALESCE(p.totalStock, 0)) " +
+            "FROM Product p JOIN p.design d JOIN p.category c " +
+            "WHERE p.archived = false AND c.id = :categoryId ",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.archived = false AND p.category.id = :categoryId")
+    Page<ProductCatalogRow> findCatalogRowsByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query("SELECT new com.creativePrint.dto.product.resp.ProductCatalogRow(" +
+            "p.id, p.name, p.description, p.basePrice, d.designUrl, c.name, p.createdAt, COALESCE(p.totalStock, 0)) " +
+            "FROM Product p JOIN p.design d JOIN p.category c " +
+            "WHERE p.id IN :ids ")
+    List<ProductCatalogRow> findCatalogRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Everything a product detail needs in one statement; the creator and profile are eager associations
+    // of Design and User, so they are fetched here too rather than with one follow-up select per partner
+    @Query("SELECT DISTINCT p FROM Product p JOIN FETCH p.design d JOIN FETCH d.creator cr " +
+            "LEFT JOIN FETCH cr.userProfile JOIN FETCH p.category LEFT JOIN FETCH p.variants WHERE p.id IN :ids")
+    List<Product> findWithVariantsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset variants: rows strictly after (createdAt, id) in (createdAt desc, id desc) order, no count query
+    @Query("SELECT new com.creativePrint.dto.product.resp.ProductCatalogRow(" +
+            "p.id, p.name, p.description, p.basePrice, d.designUrl, c.name, p.createdAt, COALESCE(p.totalStock, 0)) " +
+            "FROM Product p JOIN p.design d JOIN p.category c " +
+            "WHERE p.archived = false " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductCatalogRow> findCatalogRowsAfter(@Param("createdAt") Instant createdAt, @Param("id") Long id,
+                                                  Pageable pageable);
+
+    @Query("SELECT new com.creativePrint.dto.product.resp.ProductCatalogRow(" +
+            "p.id, p.name, p.description, p.basePrice, d.designUrl, c.name, p.createdAt, COALESCE(p.totalStock, 0)) " +
+            "FROM Product p JOIN p.design d JOIN p.category c " +
+            "WHERE p.archived = false AND c.id = :categoryId " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductCatalogRow> findCatalogRowsByCategoryAfter(@Param("categoryId") Long categoryId,
+                                                            @Param("createdAt") Instant createdAt, @Param("id") Long id,
+                                                            Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.design.creator = :creator " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Product> findByDesignCreatorAfter(@Param("creator") User creator,
+                                            @Param("createdAt") Instant createdAt, @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query("SELECT p FROM Product p " +
+            "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Product> findAllAfter(@Param("createdAt") Instant createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<Product> findByCategoryIdAfter(@Param("categoryId") Long categoryId,
+                                         @Param("createdAt") Instant createdAt, @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("SELECT new com.creativePrint.dto.product.resp.ProductSearchDocument(p.id, p.name, p.description, c.name, d.name) " +
+            "FROM Product p JOIN p.category c JOIN p.design d WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.creativePrint.dto.product.resp.ProductSearchDocument(p.id, p.name, p.description, c.name, d.name) " +
+            "FROM Product p JOIN p.category c JOIN p.design d WHERE p.id = :id")
+    Optional<ProductSearchDocument> findSearchDocument(@Param("id") Long id);
+
+    // findAllById gives no ordering guarantee; ranked callers need results in id-list order
+    default List<Product> findAllByIdInOrder(List<Long> ids) {
+        Map<Long, Product> byId = findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Query("SELECT p.updatedAt FROM Product p WHERE p.id = :id")
+    Optional<Instant> findUpdatedAtById(@Param("id") Long id);
+
+    // Fills aggregates for rows written before the columns existed
+    @Modifying
+    @Query("UPDATE Product p SET " +
+            "p.totalStock = (SELECT COALESCE(SUM(v.stock), 0) FROM ProductVariant v WHERE v.product = p), " +
+            "p.minPrice = p.basePrice + (SELECT COALESCE(MIN(v.priceAdjustment), 0) FROM ProductVariant v WHERE v.product = p), " +
+            "p.maxPrice = p.basePrice + (SELECT COALESCE(MAX(v.priceAdjustment), 0) FROM ProductVariant v WHERE v.product = p) " +
+            "WHERE p.totalStock IS NULL")
+    int backfillAggregates();
+
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.creativePrint.dto.product.resp.ProductFacetRow(" +
+            "p.id, c.name, p.archived, p.basePrice, v.size, v.color, v.priceAdjustment) " +
+            "FROM Product p JOIN p.category c LEFT JOIN p.variants v WHERE p.id IN :ids")
+    List<ProductFacetRow> findFacetRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.creativePrint.dto.product.resp.ProductSimilarityRow(" +
+            "p.id, p.category.id, d.creator.id, e, p.createdAt, p.archived) " +
+            "FROM Product p JOIN p.design d LEFT JOIN d.elements e WHERE p.id IN :ids")
+    List<ProductSimilarityRow> findSimilarityRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.name FROM Product p WHERE p.archived = false AND p.name IS NOT NULL")
+    List<String> findListedProductNames();
+}
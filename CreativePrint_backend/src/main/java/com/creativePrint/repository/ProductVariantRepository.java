@@ -1,12 +1,23 @@
 package com.creativePrint.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.creativePrint.model.ProductVariant;
 
 public interface ProductVariantRepository extends JpaRepository<ProductVariant, Long> {
-    
-    
 
-    
-} 
+    // Everything order pricing reads, down to the designer's commission rate, in a single statement
+    @Query("SELECT v FROM ProductVariant v " +
+            "JOIN FETCH v.product p " +
+            "JOIN FETCH p.category " +
+            "JOIN FETCH p.design d " +
+            "JOIN FETCH d.creator c " +
+            "LEFT JOIN FETCH c.userProfile " +
+            "WHERE v.id IN :ids")
+    List<ProductVariant> findPricingGraphByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,12 @@
+package com.creativePrint.repository;
+
+import com.creativePrint.model.SearchQueryStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SearchQueryStatRepository extends JpaRepository<SearchQueryStat, String> {
+
+        List<SearchQueryStat> findAllByOrderBySearchCountDesc(Pageable pageable);
+}
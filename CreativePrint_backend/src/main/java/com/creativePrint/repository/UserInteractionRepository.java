@@ -6,26 +6,39 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserInteractionRepository extends JpaRepository<UserInteraction, Long> {
+        String INTERACTION_COMPACTION = "user_interactions";
+
         List<UserInteraction> findByUserIdOrderByTimestampDesc(Long userId);
 
         @Modifying
         @Query("DELETE FROM UserInteraction ui WHERE ui.user.id = :userId")
         void deleteByUserId(@Param("userId") Long userId);
 
-        @Query("SELECT ui.product.id, COUNT(ui) as count FROM UserInteraction ui " +
-                        "WHERE ui.user.id = :userId GROUP BY ui.product.id ORDER BY count DESC")
+        // Product id and summed interaction weight, strongest first: the compacted rollup plus raw rows past the
+        // compaction watermark, so the result is current without aggregating the user's whole history
+        @Query(value = "SELECT product_id, SUM(score) AS total FROM (" +
+                        "SELECT s.product_id, s.weighted_score AS score FROM user_product_score s WHERE s.user_id = :userId " +
+                        "UNION ALL " +
+                        "SELECT ui.product_id, COALESCE(ui.weight, 1) AS score FROM user_interactions ui " +
+                        "WHERE ui.user_id = :userId AND ui.product_id IS NOT NULL AND ui.id > " +
+                        "(SELECT COALESCE(MAX(w.last_id), 0) FROM job_watermarks w WHERE w.name = '" +
+                        INTERACTION_COMPACTION + "')" +
+                        ") scores GROUP BY product_id ORDER BY total DESC", nativeQuery = true)
         List<Object[]> findMostInteractedProductsByUser(@Param("userId") Long userId);
 
-        @Query("SELECT ui1.product.id FROM UserInteraction ui1 " +
-                        "WHERE ui1.user.id <> :userId AND ui1.product.id IN " +
-                        "(SELECT DISTINCT ui2.product.id FROM UserInteraction ui2 WHERE ui2.user.id = :userId) " +
-                        "GROUP BY ui1.product.id ORDER BY COUNT(ui1) DESC")
-        List<Long> findCollaborativeRecommendations(@Param("userId") Long userId);
-
-        @Query("SELECT ui.product.id FROM UserInteraction ui WHERE ui.type = 'PURCHASE' " +
-                        "GROUP BY ui.product.id ORDER BY COUNT(ui) DESC, MAX(ui.timestamp) DESC")
-        List<Long> findTop10TrendingProducts();
+        // Same as findMostInteractedProductsByUser for a batch of users: user id, product id, summed weight
+        @Query(value = "SELECT user_id, product_id, SUM(score) AS total FROM (" +
+                        "SELECT s.user_id, s.product_id, s.weighted_score AS score FROM user_product_score s " +
+                        "WHERE s.user_id IN (:userIds) " +
+                        "UNION ALL " +
+                        "SELECT ui.user_id, ui.product_id, COALESCE(ui.weight, 1) AS score FROM user_interactions ui " +
+                        "WHERE ui.user_id IN (:userIds) AND ui.product_id IS NOT NULL AND ui.id > " +
+                        "(SELECT COALESCE(MAX(w.last_id), 0) FROM job_watermarks w WHERE w.name = '" +
+                        INTERACTION_COMPACTION + "')" +
+                        ") scores GROUP BY user_id, product_id ORDER BY user_id, total DESC", nativeQuery = true)
+        List<Object[]> findMostInteractedProductsByUsers(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
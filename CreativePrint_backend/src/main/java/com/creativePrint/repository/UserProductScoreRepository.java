@@ -0,0 +1,15 @@
+package com.creativePrint.repository;
+
+import com.creativePrint.model.UserProductScore;
+import com.creativePrint.model.UserProductScoreId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserProductScoreRepository extends JpaRepository<UserProductScore, UserProductScoreId> {
+
+        @Modifying
+        @Query("DELETE FROM UserProductScore s WHERE s.id.userId = :userId")
+        void deleteByUserId(@Param("userId") Long userId);
+}
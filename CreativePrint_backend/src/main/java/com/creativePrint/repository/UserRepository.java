@@ -42,7 +42,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     int updatePassword(@Param("userId") Long userId, @Param("newPassword") String newPassword);
 
     @Modifying
-    @Query("UPDATE User u SET u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
+    @Query("UPDATE User u SET u.updatedAt = instant WHERE u.id = :userId")
     void updateLastLoginTime(@Param("userId") Long userId);
 
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.active = true")
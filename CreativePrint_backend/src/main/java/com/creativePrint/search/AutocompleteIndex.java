@@ -0,0 +1,128 @@
+package com.creativePrint.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Prefix trie over normalized terms where every node keeps its best completions, so a lookup is one walk down the prefix
+public class AutocompleteIndex {
+    public static final int SUGGESTIONS_PER_NODE = 10;
+
+    private final Node root = new Node();
+    private final Map<String, Term> terms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private static final class Term {
+        private final String key;
+        private String display;
+        private double weight;
+
+        private Term(String key, String display) {
+            this.key = key;
+            this.display = display;
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Term[] top = new Term[SUGGESTIONS_PER_NODE];
+        private int topSize;
+
+        // Weights only grow, so the term can only move towards the front
+        private void offer(Term term) {
+            int index = indexOf(term);
+            if (index < 0) {
+                if (topSize < top.length) {
+                    index = topSize++;
+                } else if (term.weight > top[topSize - 1].weight) {
+                    index = topSize - 1;
+                } else {
+                    return;
+                }
+                top[index] = term;
+            }
+            while (index > 0 && top[index - 1].weight < term.weight) {
+                top[index] = top[index - 1];
+                top[--index] = term;
+            }
+        }
+
+        private int indexOf(Term term) {
+            for (int i = 0; i < topSize; i++) {
+                if (top[i] == term) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Adds {@code weight} to the term under {@code key} (already normalized). A non-null {@code display} replaces
+     * the text returned for it, so product names keep their casing while search queries show as typed.
+     */
+    public void add(String key, String display, double weight) {
+        if (key == null || key.isEmpty() || weight <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Term term = terms.computeIfAbsent(key, k -> new Term(k, k));
+            if (display != null) {
+                term.display = display;
+            }
+            term.weight += weight;
+
+            Node node = root;
+            node.offer(term);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                node.offer(term);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            int size = Math.max(0, Math.min(limit, node.topSize));
+            List<String> suggestions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                suggestions.add(node.top[i].display);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        lock.readLock().lock();
+        try {
+            return terms.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
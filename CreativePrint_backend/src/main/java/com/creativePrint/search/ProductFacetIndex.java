@@ -0,0 +1,193 @@
+package com.creativePrint.search;
+
+import com.creativePrint.dto.product.req.ProductFacetFilter;
+import com.creativePrint.dto.product.resp.ProductFacetRow;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Compressed bitmaps of product ids per facet value; only non-archived products are indexed
+public class ProductFacetIndex {
+    public static final String CATEGORY = "category";
+    public static final String SIZE = "size";
+    public static final String COLOR = "color";
+    public static final String PRICE_RANGE = "priceRange";
+
+    private static final double[] PRICE_BOUNDS = {15, 30, 50, 100};
+
+    private final Map<String, Map<String, RoaringBitmap>> facets = new HashMap<>();
+    private final Map<Integer, Map<String, Set<String>>> documents = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record FacetResult(List<Long> productIds, long totalMatches, Map<String, Map<String, Integer>> counts) {
+    }
+
+    public ProductFacetIndex() {
+        for (String facet : List.of(CATEGORY, SIZE, COLOR, PRICE_RANGE)) {
+            facets.put(facet, new HashMap<>());
+        }
+    }
+
+    // Rows must all belong to the same product
+    public void index(Long productId, List<ProductFacetRow> rows) {
+        int id = Math.toIntExact(productId);
+        Map<String, Set<String>> values = rows.isEmpty() || rows.get(0).archived() ? Map.of() : facetValues(rows);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (values.isEmpty()) {
+                return;
+            }
+            values.forEach((facet, facetValues) -> facetValues.forEach(value ->
+                    facets.get(facet).computeIfAbsent(value, v -> new RoaringBitmap()).add(id)));
+            documents.put(id, values);
+            all.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(Math.toIntExact(productId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns ids newest-first (highest id first) plus disjunctive counts: each facet is counted
+    // against every filter except its own, so selecting "M" still shows how many "L" products exist
+    public FacetResult query(ProductFacetFilter filter, int offset, int limit) {
+        Map<String, Set<String>> selections = new LinkedHashMap<>();
+        selections.put(CATEGORY, filter.category() == null || filter.category().isEmpty()
+                ? Set.of() : Set.of(filter.category()));
+        selections.put(SIZE, normalize(filter.sizes(), SIZE));
+        selections.put(COLOR, normalize(filter.colors(), COLOR));
+        selections.put(PRICE_RANGE, filter.priceRanges());
+
+        lock.readLock().lock();
+        try {
+            Map<String, RoaringBitmap> selected = new HashMap<>();
+            selections.forEach((facet, values) -> {
+                if (!values.isEmpty()) {
+                    selected.put(facet, union(facets.get(facet), values));
+                }
+            });
+
+            RoaringBitmap matches = intersect(selected, null);
+
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (String facet : selections.keySet()) {
+                RoaringBitmap others = intersect(selected, facet);
+                Map<String, Integer> facetCounts = new TreeMap<>();
+                facets.get(facet).forEach((value, bitmap) -> {
+                    int count = RoaringBitmap.andCardinality(others, bitmap);
+                    if (count > 0) {
+                        facetCounts.put(value, count);
+                    }
+                });
+                counts.put(facet, facetCounts);
+            }
+
+            int total = matches.getCardinality();
+            List<Long> ids = new ArrayList<>();
+            for (int rank = total - 1 - Math.max(offset, 0); rank >= 0 && ids.size() < limit; rank--) {
+                ids.add((long) matches.select(rank));
+            }
+            return new FacetResult(ids, total, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String priceRange(double price) {
+        double lower = 0;
+        for (double bound : PRICE_BOUNDS) {
+            if (price < bound) {
+                return (int) lower + "-" + (int) bound;
+            }
+            lower = bound;
+        }
+        return (int) lower + "+";
+    }
+
+    private Map<String, Set<String>> facetValues(List<ProductFacetRow> rows) {
+        Map<String, Set<String>> values = new HashMap<>();
+        values.computeIfAbsent(CATEGORY, f -> new HashSet<>()).add(rows.get(0).category());
+
+        for (ProductFacetRow row : rows) {
+            if (row.size() != null) {
+                values.computeIfAbsent(SIZE, f -> new HashSet<>()).add(normalize(row.size(), SIZE));
+            }
+            if (row.color() != null) {
+                values.computeIfAbsent(COLOR, f -> new HashSet<>()).add(normalize(row.color(), COLOR));
+            }
+            double basePrice = row.basePrice() == null ? 0 : row.basePrice();
+            double adjustment = row.priceAdjustment() == null ? 0 : row.priceAdjustment();
+            values.computeIfAbsent(PRICE_RANGE, f -> new HashSet<>()).add(priceRange(basePrice + adjustment));
+        }
+        return values;
+    }
+
+    private RoaringBitmap intersect(Map<String, RoaringBitmap> selected, String excludedFacet) {
+        RoaringBitmap result = all.clone();
+        selected.forEach((facet, bitmap) -> {
+            if (!facet.equals(excludedFacet)) {
+                result.and(bitmap);
+            }
+        });
+        return result;
+    }
+
+    private RoaringBitmap union(Map<String, RoaringBitmap> values, Set<String> selected) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (String value : selected) {
+            RoaringBitmap bitmap = values.get(value);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private void removeInternal(int id) {
+        Map<String, Set<String>> values = documents.remove(id);
+        if (values == null) {
+            return;
+        }
+        values.forEach((facet, facetValues) -> facetValues.forEach(value -> {
+            RoaringBitmap bitmap = facets.get(facet).get(value);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    facets.get(facet).remove(value);
+                }
+            }
+        }));
+        all.remove(id);
+    }
+
+    private static Set<String> normalize(Set<String> values, String facet) {
+        Set<String> normalized = new HashSet<>();
+        values.forEach(value -> normalized.add(normalize(value, facet)));
+        return normalized;
+    }
+
+    private static String normalize(String value, String facet) {
+        String trimmed = value.trim();
+        return SIZE.equals(facet) ? trimmed.toUpperCase(Locale.ROOT) : trimmed.toLowerCase(Locale.ROOT);
+    }
+}
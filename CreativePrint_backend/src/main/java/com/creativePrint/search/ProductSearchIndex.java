@@ -0,0 +1,169 @@
+package com.creativePrint.search;
+
+import com.creativePrint.dto.product.resp.ProductSearchDocument;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index over product text fields: term -> (productId -> field-weighted term frequency)
+public class ProductSearchIndex {
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 1.5f;
+    private static final float DESIGN_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Prefix hits rank below exact hits, and short prefixes are not expanded at all
+    private static final float PREFIX_MATCH_FACTOR = 0.6f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record SearchResult(List<Long> productIds, long totalMatches) {
+    }
+
+    public void index(ProductSearchDocument document) {
+        Map<String, Float> termWeights = new HashMap<>();
+        addField(termWeights, document.name(), NAME_WEIGHT);
+        addField(termWeights, document.category(), CATEGORY_WEIGHT);
+        addField(termWeights, document.designName(), DESIGN_WEIGHT);
+        addField(termWeights, document.description(), DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.id());
+            termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), weight));
+            documentTerms.put(document.id(), termWeights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every query token must match (exactly or as a prefix); scores are idf-weighted and summed
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> tokens = SearchTokenizer.tokenize(query).stream().distinct().toList();
+        if (tokens.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return new SearchResult(List.of(), 0);
+                }
+            }
+            return new SearchResult(topResults(scores, offset, limit), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> scoreToken(String token) {
+        Map<Long, Float> tokenScores = new HashMap<>();
+        accumulate(tokenScores, token, 1.0f);
+
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            NavigableMap<String, Map<Long, Float>> expansions =
+                    postings.subMap(token, false, token + Character.MAX_VALUE, true);
+            int expanded = 0;
+            for (String term : expansions.keySet()) {
+                if (++expanded > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                accumulate(tokenScores, term, PREFIX_MATCH_FACTOR);
+            }
+        }
+        return tokenScores;
+    }
+
+    private void accumulate(Map<Long, Float> tokenScores, String term, float factor) {
+        Map<Long, Float> termPostings = postings.get(term);
+        if (termPostings == null) {
+            return;
+        }
+        float idf = (float) Math.log(1.0 + (double) documentTerms.size() / termPostings.size());
+        termPostings.forEach((id, weight) -> tokenScores.merge(id, idf * weight * factor, Math::max));
+    }
+
+    private List<Long> topResults(Map<Long, Float> scores, int offset, int limit) {
+        int wanted = offset + limit;
+        Comparator<Map.Entry<Long, Float>> ranking = Map.Entry.<Long, Float>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+
+        PriorityQueue<Map.Entry<Long, Float>> top = new PriorityQueue<>(Math.max(1, wanted), ranking);
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(top);
+        ranked.sort(ranking.reversed());
+        return ranked.stream()
+                .skip(offset)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void addField(Map<String, Float> termWeights, String text, float weight) {
+        for (String token : SearchTokenizer.tokenize(text)) {
+            termWeights.merge(token, weight, Float::sum);
+        }
+    }
+
+    private void removeInternal(Long productId) {
+        Set<String> terms = documentTerms.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(productId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.creativePrint.search;
+
+import com.creativePrint.dto.product.resp.ProductSimilarityRow;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// Inverted indexes from category, designer and design element to product ids; only non-archived products are indexed
+public class ProductSimilarityIndex {
+    private static final double CATEGORY_WEIGHT = 1.0;
+    private static final double DESIGNER_WEIGHT = 2.0;
+    private static final double ELEMENT_WEIGHT = 1.0;
+
+    // A brand-new product scores up to 50% above an old one with the same overlap
+    private static final double RECENCY_BOOST = 0.5;
+    private static final Duration RECENCY_HALF_LIFE = Duration.ofDays(30);
+
+    // Postings are walked newest id first and cut off here, so a huge category costs the same as a small one
+    private static final int MAX_POSTINGS_SCANNED = 2000;
+
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byDesigner = new HashMap<>();
+    private final Map<String, RoaringBitmap> byElement = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record Document(Long categoryId, Long designerId, Set<String> elements, Instant createdAt) {
+    }
+
+    private record Candidate(int id, double score) {
+    }
+
+    // Rows must all belong to the same product
+    public void index(Long productId, List<ProductSimilarityRow> rows) {
+        int id = Math.toIntExact(productId);
+        Document document = rows.isEmpty() || rows.get(0).archived() ? null : toDocument(rows);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (document == null) {
+                return;
+            }
+            posting(byCategory, document.categoryId()).add(id);
+            posting(byDesigner, document.designerId()).add(id);
+            document.elements().forEach(element -> posting(byElement, element).add(id));
+            documents.put(id, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(Math.toIntExact(productId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Scores candidates by weighted overlap with the product, boosted by recency, and returns the best ids first
+    public List<Long> similar(Long productId, int limit, Instant now) {
+        int id = Math.toIntExact(productId);
+        Map<Integer, Double> overlap = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            Document document = documents.get(id);
+            if (document == null || limit <= 0) {
+                return List.of();
+            }
+            accumulate(overlap, byCategory.get(document.categoryId()), CATEGORY_WEIGHT);
+            accumulate(overlap, byDesigner.get(document.designerId()), DESIGNER_WEIGHT);
+            document.elements().forEach(element -> accumulate(overlap, byElement.get(element), ELEMENT_WEIGHT));
+            overlap.remove(id);
+
+            Comparator<Candidate> order = Comparator.comparingDouble(Candidate::score)
+                    .thenComparingInt(Candidate::id);
+            PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, order);
+            overlap.forEach((candidateId, score) -> {
+                top.add(new Candidate(candidateId, score * recencyFactor(documents.get(candidateId).createdAt(), now)));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+
+            List<Candidate> ranked = new ArrayList<>(top);
+            ranked.sort(order.reversed());
+            return ranked.stream().map(candidate -> (long) candidate.id()).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(Long productId) {
+        if (productId == null || productId < 0 || productId > Integer.MAX_VALUE) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return documents.containsKey(productId.intValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void accumulate(Map<Integer, Double> overlap, RoaringBitmap posting, double weight) {
+        if (posting == null) {
+            return;
+        }
+        IntIterator ids = posting.getReverseIntIterator();
+        for (int scanned = 0; ids.hasNext() && scanned < MAX_POSTINGS_SCANNED; scanned++) {
+            overlap.merge(ids.next(), weight, Double::sum);
+        }
+    }
+
+    private double recencyFactor(Instant createdAt, Instant now) {
+        if (createdAt == null) {
+            return 1.0;
+        }
+        double ageHalfLives = Math.max(0, Duration.between(createdAt, now).toSeconds())
+                / (double) RECENCY_HALF_LIFE.toSeconds();
+        return 1.0 + RECENCY_BOOST * Math.pow(0.5, ageHalfLives);
+    }
+
+    private void removeInternal(int id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        unpost(byCategory, document.categoryId(), id);
+        unpost(byDesigner, document.designerId(), id);
+        document.elements().forEach(element -> unpost(byElement, element, id));
+    }
+
+    private static <K> RoaringBitmap posting(Map<K, RoaringBitmap> postings, K key) {
+        return postings.computeIfAbsent(key, k -> new RoaringBitmap());
+    }
+
+    private static <K> void unpost(Map<K, RoaringBitmap> postings, K key, int id) {
+        RoaringBitmap posting = postings.get(key);
+        if (posting != null) {
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static Document toDocument(List<ProductSimilarityRow> rows) {
+        ProductSimilarityRow first = rows.get(0);
+        Set<String> elements = rows.stream()
+                .map(ProductSimilarityRow::element)
+                .filter(Objects::nonNull)
+                .map(element -> element.trim().toLowerCase(Locale.ROOT))
+                .filter(element -> !element.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        return new Document(first.categoryId(), first.designerId(), elements, first.createdAt());
+    }
+}
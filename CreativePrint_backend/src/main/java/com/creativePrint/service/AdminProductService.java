@@ -1,5 +1,6 @@
 package com.creativePrint.service;
 
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.dto.product.resp.ProductResponse;
 import com.creativePrint.model.Product;
 
@@ -12,6 +13,8 @@ public interface AdminProductService {
 
     Map<String, Object> getAllProducts(String search, Long categoryId, String status, Pageable pageable);
 
+    CursorPageResponse<ProductResponse> scrollProducts(Long categoryId, String cursor, int size);
+
     ProductResponse getProductById(Long productId);
 
     ProductResponse toggleProductArchiveStatus(Long productId, boolean archived);
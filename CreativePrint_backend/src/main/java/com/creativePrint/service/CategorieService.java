@@ -6,4 +6,6 @@ import com.creativePrint.dto.category.CategoryResponse;
 public interface CategorieService {
 
     List<CategoryResponse> getAllCategories();
+
+    String getCategoriesETag();
 }
@@ -1,11 +1,14 @@
 package com.creativePrint.service;
 
+import com.creativePrint.dto.product.resp.BulkRecommendations;
 import com.creativePrint.model.User;
 
+import java.util.Collection;
 import java.util.Map;
 
 public interface EmailMarketingService {
     void sendWelcomeEmail(User user);
     void sendAbandonedCartEmail(User user, Long cartId);
-    void sendNewProductsEmail(User user);
+    // Sends each user their own recommended products; returns how many emails went out
+    int sendNewProductsEmails(Collection<User> users, BulkRecommendations recommendations);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.creativePrint.service;
+
+import com.creativePrint.dto.order.req.OrderRequest;
+import com.creativePrint.dto.order.resp.OrderResponse;
+
+public interface IdempotentOrderService {
+
+    /**
+     * Creates the order once per (user, key): retries and concurrent duplicates get the first response back.
+     * A null key creates the order unconditionally.
+     */
+    OrderResponse createOrder(Long userId, String idempotencyKey, OrderRequest request);
+}
@@ -7,6 +7,8 @@ import com.creativePrint.dto.order.req.OrderRequest;
 import com.creativePrint.dto.order.req.OrderStatusUpdateRequest;
 import com.creativePrint.dto.order.resp.OrderResponse;
 import com.creativePrint.dto.order.resp.OrderStatusHistoryResponse;
+import com.creativePrint.dto.order.resp.OrderSummaryResponse;
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.dto.product.resp.ProductResponse;
 import com.creativePrint.enums.OrderStatus;
 import com.creativePrint.model.User;
@@ -15,7 +17,7 @@ import org.springframework.data.domain.Pageable;
 
 public interface OrderService {
     OrderResponse createOrder(OrderRequest request);
-    List<OrderResponse> getOrderHistory(Long userId);
+    CursorPageResponse<OrderSummaryResponse> getOrderHistory(Long userId, String cursor, int size);
     OrderResponse getOrderById(Long orderId);
     OrderResponse updateOrderStatus(Long orderId, OrderStatusUpdateRequest request, User updatedBy);
     List<OrderStatusHistoryResponse> getOrderStatusHistory(Long orderId);
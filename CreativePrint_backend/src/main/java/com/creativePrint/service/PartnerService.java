@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 
 import com.creativePrint.dto.design.resp.DesignResponse;
 import com.creativePrint.dto.product.req.ProductRequest;
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.dto.product.resp.ProductResponse;
 import com.creativePrint.model.Product;
 import com.creativePrint.model.User;
@@ -16,6 +17,7 @@ public interface PartnerService {
     ProductResponse updateProduct(Long productId, ProductRequest request, User partner);
     void deleteProduct(Long productId, User partner);
     Page<ProductResponse> getPartnerProducts(User partner, Pageable pageable);
+    CursorPageResponse<ProductResponse> scrollPartnerProducts(User partner, String cursor, int size);
     ProductResponse getPartnerProduct(Long productId, User partner);
 
     Page<ProductResponse> getAllProducts(Pageable pageable ,String search);
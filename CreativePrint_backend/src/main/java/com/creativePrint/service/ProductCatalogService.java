@@ -1,9 +1,13 @@
 package com.creativePrint.service;
 
+import com.creativePrint.dto.product.req.CatalogSort;
+import com.creativePrint.dto.product.req.ProductFacetFilter;
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.dto.product.resp.ProductDetailWithVariantsDTO;
 import com.creativePrint.dto.product.resp.ProductListResponse;
 import com.creativePrint.dto.product.resp.ProductListResponse.ProductDTO;
 import com.creativePrint.dto.product.resp.ProductResponse;
+import com.creativePrint.dto.product.resp.TaggedResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -12,9 +16,17 @@ import java.util.List;
 
 public interface ProductCatalogService {
 
-    ProductListResponse getProductCatalog(int page, int size, String category);
+    TaggedResponse<ProductListResponse> getProductCatalog(int page, int size, String category, CatalogSort sort);
+
+    TaggedResponse<CursorPageResponse<ProductDTO>> scrollProductCatalog(String cursor, int size, String category);
+
+    ProductListResponse getFilteredCatalog(ProductFacetFilter filter, int page, int size);
+
+    String getProductETag(Long productId);
 
     ProductDTO getProductDetails(Long productId);
     ProductDetailWithVariantsDTO getProductDetailsWithVariants(Long productId);
 
+    List<ProductDetailWithVariantsDTO> getProductDetailsWithVariants(List<Long> productIds);
+
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.creativePrint.service;
+
+import com.creativePrint.dto.product.req.ProductFacetFilter;
+import com.creativePrint.search.ProductFacetIndex;
+
+public interface ProductFacetService {
+
+    ProductFacetIndex.FacetResult filter(ProductFacetFilter filter, int page, int size);
+}
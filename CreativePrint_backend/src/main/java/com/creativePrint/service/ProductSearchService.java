@@ -0,0 +1,10 @@
+package com.creativePrint.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ProductSearchService {
+
+    // Product ids ranked by relevance; the pageable's sort is ignored
+    Page<Long> search(String query, Pageable pageable);
+}
@@ -0,0 +1,11 @@
+package com.creativePrint.service;
+
+import java.util.List;
+
+public interface ProductSimilarityService {
+
+    List<Long> findSimilarProductIds(Long productId, int limit);
+
+    // True for products that exist and are not archived, answered from memory
+    boolean isListed(Long productId);
+}
@@ -1,16 +1,20 @@
 package com.creativePrint.service;
 
+import com.creativePrint.dto.product.resp.BulkRecommendations;
 import com.creativePrint.dto.product.resp.ProductResponse;
 import com.creativePrint.enums.InteractionType;
-import com.creativePrint.model.Product;
-import com.creativePrint.model.User;
+import com.creativePrint.enums.TrendingWindow;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RecommendationService {
-    void trackInteraction(User user, Product product, InteractionType type);
-    void trackSearch(User user, String searchQuery);
+    void trackInteraction(Long userId, Long productId, InteractionType type);
+    void trackInteractions(Long userId, List<Long> productIds, InteractionType type);
+    void trackSearch(Long userId, String searchQuery);
     List<ProductResponse> getPersonalizedRecommendations(Long userId, int limit);
     List<ProductResponse> getSimilarProducts(Long productId, int limit);
     List<ProductResponse> getTrendingProducts(int limit);
+    List<ProductResponse> getTrendingProducts(TrendingWindow window, int limit);
+    BulkRecommendations getBulkRecommendations(Collection<Long> userIds, int limit);
 }
\ No newline at end of file
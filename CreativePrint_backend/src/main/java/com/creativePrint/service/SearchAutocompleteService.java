@@ -0,0 +1,15 @@
+package com.creativePrint.service;
+
+import com.creativePrint.dto.search.resp.TopSearchResponse;
+
+import java.util.List;
+
+public interface SearchAutocompleteService {
+
+    List<String> suggest(String prefix, int limit);
+
+    // Counts a normalized query straight away; the persisted totals catch up through interaction compaction
+    void recordSearch(String normalizedQuery);
+
+    List<TopSearchResponse> getTopSearches(int limit);
+}
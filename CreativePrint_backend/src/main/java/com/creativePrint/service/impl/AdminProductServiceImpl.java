@@ -1,19 +1,27 @@
 package com.creativePrint.service.impl;
 
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.dto.product.resp.ProductResponse;
+import com.creativePrint.dto.req.KeysetCursor;
+import com.creativePrint.event.ProductChangedEvent;
 import com.creativePrint.exception.entitesCustomExceptions.ResourceNotFoundException;
 import com.creativePrint.exception.entitesCustomExceptions.DataIntegrityViolationException;
 import com.creativePrint.mapper.ProductMapper;
 import com.creativePrint.model.Product;
 import com.creativePrint.repository.ProductRepository;
 import com.creativePrint.service.AdminProductService;
+import com.creativePrint.service.ProductSearchService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,6 +31,8 @@ public class AdminProductServiceImpl implements AdminProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductSearchService productSearchService;
 
     @Override
     @Transactional(readOnly = true)
@@ -30,7 +40,11 @@ public class AdminProductServiceImpl implements AdminProductService {
         Page<Product> productsPage;
 
         if (search != null && !search.isEmpty()) {
-            productsPage = productRepository.findByNameContainingIgnoreCase(search, pageable);
+            Page<Long> rankedIds = productSearchService.search(search, pageable);
+            productsPage = new PageImpl<>(
+                    productRepository.findAllByIdInOrder(rankedIds.getContent()),
+                    pageable,
+                    rankedIds.getTotalElements());
         } else if (categoryId != null) {
             productsPage = productRepository.findByCategoryId(categoryId, pageable);
         } else {
@@ -51,6 +65,24 @@ public class AdminProductServiceImpl implements AdminProductService {
         return response;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> scrollProducts(Long categoryId, String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+
+        Slice<Product> productsSlice;
+        if (categoryId != null) {
+            productsSlice = productRepository.findByCategoryIdAfter(
+                    categoryId, position.createdAt(), position.id(), KeysetCursor.limit(size));
+        } else {
+            productsSlice = productRepository.findAllAfter(
+                    position.createdAt(), position.id(), KeysetCursor.limit(size));
+        }
+
+        return CursorPageResponse.of(productsSlice, productMapper::toResponse,
+                last -> new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ProductResponse getProductById(Long productId) {
@@ -66,6 +98,8 @@ public class AdminProductServiceImpl implements AdminProductService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
 
+        boolean wasArchived = product.isArchived();
+
         // Update product archived status
         if(product.isArchived()) {
            product.setArchived(false);
@@ -74,7 +108,10 @@ public class AdminProductServiceImpl implements AdminProductService {
         }
 
 //        product.setArchived(true);
+        product.setUpdatedAt(Instant.now());
         product = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.statusChanged(
+                product.getId(), product.getCategory().getName(), wasArchived, product.isArchived()));
 
         return productMapper.toResponse(product);
     }
@@ -85,11 +122,13 @@ public class AdminProductServiceImpl implements AdminProductService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
 
+        eventPublisher.publishEvent(ProductChangedEvent.removed(productId, product.getCategory().getName(), product.isArchived()));
         try {
             productRepository.delete(product);
         } catch (Exception e) {
 
             product.setArchived(true);
+            product.setUpdatedAt(Instant.now());
             productRepository.save(product);
             throw new DataIntegrityViolationException("Product cannot be deleted due to existing dependencies. Product has been marked as archived instead.");
         }
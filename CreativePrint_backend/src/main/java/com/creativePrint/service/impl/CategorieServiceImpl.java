@@ -3,8 +3,8 @@ package com.creativePrint.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import com.creativePrint.cache.CategoryRegistry;
 import com.creativePrint.mapper.CategoryMapper;
-import com.creativePrint.repository.CategoriesRepository;
 import com.creativePrint.service.CategorieService;
 import com.creativePrint.dto.category.CategoryResponse;
 import lombok.RequiredArgsConstructor;
@@ -13,14 +13,19 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class CategorieServiceImpl implements  CategorieService {
-    private final CategoriesRepository categorieRepository;
+    private final CategoryRegistry categoryRegistry;
     private final CategoryMapper categoryMapper;
 
     @Override
     public List<CategoryResponse> getAllCategories() {
 
-        return categorieRepository.findAll().stream()
+        return categoryRegistry.snapshot().entries().stream()
                 .map(category -> categoryMapper.toResponse(category))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Override
+    public String getCategoriesETag() {
+        return categoryRegistry.snapshot().etag();
+    }
+}
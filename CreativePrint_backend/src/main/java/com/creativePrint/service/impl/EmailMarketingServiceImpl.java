@@ -1,11 +1,11 @@
 package com.creativePrint.service.impl;
 
+import com.creativePrint.dto.product.resp.BulkRecommendations;
+import com.creativePrint.dto.product.resp.ProductResponse;
 import com.creativePrint.model.EmailTemplate;
 import com.creativePrint.model.Order;
-import com.creativePrint.model.Product;
 import com.creativePrint.model.User;
 import com.creativePrint.repository.EmailTemplateRepository;
-import com.creativePrint.repository.ProductRepository;
 import com.creativePrint.service.EmailMarketingService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -15,6 +15,7 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,7 +26,6 @@ import java.util.Map;
 public class EmailMarketingServiceImpl implements EmailMarketingService {
     private final JavaMailSender mailSender;
     private final EmailTemplateRepository templateRepository;
-    private final ProductRepository productRepository;
     
     @Override
     public void sendWelcomeEmail(User user) {
@@ -77,40 +77,47 @@ public class EmailMarketingServiceImpl implements EmailMarketingService {
     }
     
     @Override
-    public void sendNewProductsEmail(User user) {
-        // Load template
+    public int sendNewProductsEmails(Collection<User> users, BulkRecommendations recommendations) {
+        // Load template once for the whole batch
         EmailTemplate template = templateRepository.findByTemplateName("new_products");
         
-        // Get latest products - simplified example
-        List<Product> newProducts = productRepository.findTop5ByOrderByCreatedAtDesc();
-        
-        // Build product HTML
-        StringBuilder productsHtml = new StringBuilder();
-        for (Product product : newProducts) {
-            productsHtml.append("<div class='product'>");
-            productsHtml.append("<h3>").append(product.getName()).append("</h3>");
-            productsHtml.append("<p>").append(product.getDescription()).append("</p>");
-            productsHtml.append("<p>$").append(product.getBasePrice()).append("</p>");
-            productsHtml.append("<a href='http://yourdomain.com/products/").append(product.getId()).append("'>View Details</a>");
-            productsHtml.append("</div>");
-        }
-        
-        // Replace placeholders
-        String htmlContent = template.getHtmlContent()
-                .replace("{{firstName}}", user.getFirstName())
-                .replace("{{products}}", productsHtml.toString());
-        
-        try {
-            // Send email
-            sendHtmlEmail(
-                user.getEmail(),
-                template.getSubject(),
-                htmlContent
-            );
-            log.info("New products email sent to {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send new products email", e);
+        int sent = 0;
+        for (User user : users) {
+            List<ProductResponse> products = recommendations.forUser(user.getId());
+            if (products.isEmpty()) {
+                continue;
+            }
+            
+            // Build product HTML
+            StringBuilder productsHtml = new StringBuilder();
+            for (ProductResponse product : products) {
+                productsHtml.append("<div class='product'>");
+                productsHtml.append("<h3>").append(product.name()).append("</h3>");
+                productsHtml.append("<p>").append(product.description()).append("</p>");
+                productsHtml.append("<p>$").append(product.basePrice()).append("</p>");
+                productsHtml.append("<a href='http://yourdomain.com/products/").append(product.id()).append("'>View Details</a>");
+                productsHtml.append("</div>");
+            }
+            
+            // Replace placeholders
+            String htmlContent = template.getHtmlContent()
+                    .replace("{{firstName}}", user.getFirstName())
+                    .replace("{{products}}", productsHtml.toString());
+            
+            try {
+                // Send email
+                sendHtmlEmail(
+                    user.getEmail(),
+                    template.getSubject(),
+                    htmlContent
+                );
+                sent++;
+                log.info("New products email sent to {}", user.getEmail());
+            } catch (Exception e) {
+                log.error("Failed to send new products email", e);
+            }
         }
+        return sent;
     }
     
     // Helper method to send HTML emails
@@ -0,0 +1,216 @@
+package com.creativePrint.service.impl;
+
+import com.creativePrint.config.CacheConfig;
+import com.creativePrint.dto.order.req.OrderRequest;
+import com.creativePrint.dto.order.resp.OrderResponse;
+import com.creativePrint.exception.entitesCustomExceptions.BadRequestException;
+import com.creativePrint.exception.entitesCustomExceptions.ConflictException;
+import com.creativePrint.model.IdempotencyKey;
+import com.creativePrint.repository.IdempotencyKeyRepository;
+import com.creativePrint.service.IdempotentOrderService;
+import com.creativePrint.service.OrderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Three layers keep a retried order from being placed twice. Completed responses are cached in memory.
+ * Duplicates racing on this instance wait on the first execution's future. The unique (user_id,
+ * idempotency_key) index catches duplicates from other instances: the key row is inserted in the order's own
+ * transaction, so a second insert blocks until the first commits and then fails, and the stored response is
+ * returned instead.
+ */
+@Slf4j
+@Service
+public class IdempotentOrderServiceImpl implements IdempotentOrderService {
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private record StoredResponse(String requestHash, OrderResponse response) {
+    }
+
+    private final OrderService orderService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Object, Object> completed;
+    private final Duration waitTimeout;
+    private final Duration retention;
+
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotentOrderServiceImpl(OrderService orderService,
+                                      IdempotencyKeyRepository idempotencyKeyRepository,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      CacheManager cacheManager,
+                                      @Value("${orders.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                                      @Value("${orders.idempotency.retention:24h}") Duration retention) {
+        this.orderService = orderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completed = ((CaffeineCache) cacheManager.getCache(CacheConfig.ORDER_IDEMPOTENCY_CACHE)).getNativeCache();
+        this.waitTimeout = waitTimeout;
+        this.retention = retention;
+    }
+
+    @Override
+    public OrderResponse createOrder(Long userId, String idempotencyKey, OrderRequest request) {
+        if (idempotencyKey == null) {
+            return orderService.createOrder(request);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = userId + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        StoredResponse cached = (StoredResponse) completed.getIfPresent(cacheKey);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, execution);
+        if (running != null) {
+            return replay(await(running), requestHash);
+        }
+
+        try {
+            StoredResponse stored = execute(userId, idempotencyKey, requestHash, request);
+            completed.put(cacheKey, stored);
+            execution.complete(stored);
+            return replay(stored, requestHash);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, execution);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.prune-interval:1h}")
+    public void pruneExpiredKeys() {
+        int pruned = idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(retention));
+        if (pruned > 0) {
+            log.info("Pruned {} expired idempotency keys", pruned);
+        }
+    }
+
+    private StoredResponse execute(Long userId, String idempotencyKey, String requestHash, OrderRequest request) {
+        StoredResponse previous = findStored(userId, idempotencyKey);
+        if (previous != null) {
+            return previous;
+        }
+        StoredResponse created = transactionTemplate.execute(status -> {
+            IdempotencyKey key;
+            try {
+                key = idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                        .userId(userId)
+                        .idempotencyKey(idempotencyKey)
+                        .requestHash(requestHash)
+                        .createdAt(Instant.now())
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // Another instance committed the same key first
+                status.setRollbackOnly();
+                return null;
+            }
+
+            OrderResponse response = orderService.createOrder(request);
+            key.setOrderId(response.id());
+            key.setResponseBody(toJson(response));
+            idempotencyKeyRepository.save(key);
+            return new StoredResponse(requestHash, response);
+        });
+        if (created != null) {
+            return created;
+        }
+
+        StoredResponse winner = findStored(userId, idempotencyKey);
+        if (winner == null) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        }
+        return winner;
+    }
+
+    private StoredResponse findStored(Long userId, String idempotencyKey) {
+        return idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .filter(key -> key.getResponseBody() != null)
+                .map(key -> new StoredResponse(key.getRequestHash(), fromJson(key.getResponseBody())))
+                .orElse(null);
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (ExecutionException e) {
+            // The first attempt failed and stored nothing; the client's retry will run it again
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private OrderResponse replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new BadRequestException("Idempotency-Key was already used for a different order");
+        }
+        return stored.response();
+    }
+
+    private String hash(OrderRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+                    objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash order request", e);
+        }
+    }
+
+    private String toJson(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store order response", e);
+        }
+    }
+
+    private OrderResponse fromJson(String body) {
+        try {
+            return objectMapper.readValue(body, OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored order response", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.creativePrint.service.impl;
+
+import com.creativePrint.dto.product.resp.ProductSearchDocument;
+import com.creativePrint.event.ProductChangedEvent;
+import com.creativePrint.model.Product;
+import com.creativePrint.repository.ProductRepository;
+import com.creativePrint.search.ProductSearchIndex;
+import com.creativePrint.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.mode", havingValue = "memory", matchIfMissing = true)
+public class InMemoryProductSearchService implements ProductSearchService {
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long lastId = 0L;
+        List<ProductSearchDocument> batch;
+        do {
+            batch = productRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            batch.forEach(index::index);
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        ready = true;
+        log.info("Product search index loaded with {} products", index.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        productRepository.findSearchDocument(event.productId())
+                .ifPresentOrElse(index::index, () -> index.remove(event.productId()));
+    }
+
+    @Override
+    public Page<Long> search(String query, Pageable pageable) {
+        if (!ready) {
+            // Until the startup load finishes, answer from the database rather than a partial index
+            return productRepository.findByNameContainingIgnoreCase(query, pageable).map(Product::getId);
+        }
+
+        ProductSearchIndex.SearchResult result = index.search(
+                query, (int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(result.productIds(), pageable, result.totalMatches());
+    }
+}
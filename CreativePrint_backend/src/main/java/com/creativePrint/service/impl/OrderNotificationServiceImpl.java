@@ -21,16 +21,12 @@ public class OrderNotificationServiceImpl implements OrderNotificationService {
     public void notifyOrderStatusChange(Order order, OrderStatus oldStatus, OrderStatus newStatus, User updatedBy) {
         log.info("Order {} status changed from {} to {}", order.getId(), oldStatus, newStatus);
 
-        // Send email to buyer
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(order.getBuyer().getEmail());
-            message.setSubject("Order #" + order.getId() + " Status Update");
-            message.setText("Your order status has been updated from " + oldStatus + " to " + newStatus);
-            emailSender.send(message);
-        } catch (Exception e) {
-            log.error("Failed to send order status notification email", e);
-        }
+        // Send email to buyer; a failure propagates so the outbox dispatcher retries it
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(order.getBuyer().getEmail());
+        message.setSubject("Order #" + order.getId() + " Status Update");
+        message.setText("Your order status has been updated from " + oldStatus + " to " + newStatus);
+        emailSender.send(message);
 
         // If the order has a partner product, notify the partner
         if (order.getItems() != null && !order.getItems().isEmpty()) {
@@ -45,14 +41,10 @@ public class OrderNotificationServiceImpl implements OrderNotificationService {
         log.info("New order created: {}", order.getId());
 
         // Send confirmation email to buyer
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(order.getBuyer().getEmail());
-            message.setSubject("Order #" + order.getId() + " Confirmation");
-            message.setText("Thank you for your order! Your order #" + order.getId() + " has been received.");
-            emailSender.send(message);
-        } catch (Exception e) {
-            log.error("Failed to send order confirmation email", e);
-        }
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(order.getBuyer().getEmail());
+        message.setSubject("Order #" + order.getId() + " Confirmation");
+        message.setText("Thank you for your order! Your order #" + order.getId() + " has been received.");
+        emailSender.send(message);
     }
 }
\ No newline at end of file
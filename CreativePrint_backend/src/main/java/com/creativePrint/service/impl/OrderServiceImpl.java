@@ -4,22 +4,25 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collector;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.creativePrint.dto.order.req.OrderStatusUpdateRequest;
 import com.creativePrint.dto.order.resp.OrderStatusHistoryResponse;
+import com.creativePrint.dto.order.resp.OrderSummaryResponse;
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.dto.product.resp.ProductResponse;
-import com.creativePrint.enums.InteractionType;
+import com.creativePrint.dto.req.KeysetCursor;
 import com.creativePrint.exception.entitesCustomExceptions.BadRequestException;
 import com.creativePrint.model.*;
 import com.creativePrint.repository.OrderStatusHistoryRepository;
-import com.creativePrint.service.OrderNotificationService;
-import com.creativePrint.service.RecommendationService;
+import com.creativePrint.outbox.OrderOutbox;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import com.creativePrint.dto.order.req.OrderItemRequest;
 import com.creativePrint.dto.order.req.OrderRequest;
 import com.creativePrint.dto.order.resp.OrderResponse;
 import com.creativePrint.enums.OrderStatus;
@@ -44,8 +47,7 @@ public class OrderServiceImpl implements OrderService {
     private final OrderMapper orderMapper;
     private final OrderItemMapper itemMapper;
     private final OrderStatusHistoryRepository statusHistoryRepository;
-    private final OrderNotificationService notificationService;
-    private final RecommendationService recommendationService;
+    private final OrderOutbox orderOutbox;
 
     private static final Map<OrderStatus, List<OrderStatus>> ALLOWED_TRANSITIONS = createAllowedTransitionsMap();
 
@@ -59,10 +61,18 @@ public class OrderServiceImpl implements OrderService {
         order.setStatus(OrderStatus.PENDING); 
         order.setCreatedAt(Instant.now());
 
+        // One query loads variant, product, design and designer for every line; pricing below stays in memory
+        Map<Long, ProductVariant> variants = variantRepository.findPricingGraphByIdIn(
+                        request.items().stream().map(OrderItemRequest::variantId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ProductVariant::getId, Function.identity()));
+
         List<OrderItem> items = request.items().stream()
                 .map(itemRequest -> {
-                    ProductVariant variant = variantRepository.findById(itemRequest.variantId())
-                            .orElseThrow(() -> new EntityNotFoundException("Variant not found"));
+                    ProductVariant variant = variants.get(itemRequest.variantId());
+                    if (variant == null) {
+                        throw new EntityNotFoundException("Variant not found");
+                    }
 
                     // In POD, we don't check stock - everything is printable
 
@@ -70,6 +80,8 @@ public class OrderServiceImpl implements OrderService {
                     OrderItem item = itemMapper.toEntity(itemRequest);
                     item.setVariant(variant);
                     item.setOrder(order);
+                    item.setPartnerId(variant.getProduct().getDesign().getCreator().getId());
+                    item.setCreatedAt(order.getCreatedAt());
                     return item;
                 })
                 .toList();
@@ -101,23 +113,21 @@ public class OrderServiceImpl implements OrderService {
         order.setTotalPrice(total);
         order.setItems(items);
 
+        // Item ids come from a pooled sequence, so the items go out as one JDBC batch
         Order savedOrder = orderRepository.save(order);
-        if (savedOrder.getItems() != null) {
-            for (OrderItem item : savedOrder.getItems()) {
-                Product product = item.getVariant().getProduct();
-                recommendationService.trackInteraction(buyer, product, InteractionType.PURCHASE);
-            }
-        }
-        notificationService.notifyOrderCreated(savedOrder);
+        // Confirmation mail and purchase tracking are delivered after commit by the outbox dispatcher
+        orderOutbox.orderCreated(savedOrder);
         return orderMapper.toResponse(savedOrder);
     }
 
 
     @Override
-    public List<OrderResponse> getOrderHistory(Long userId) {
-        return orderRepository.findByBuyerId(userId).stream()
-                .map(orderMapper::toResponse)
-                .toList();
+    public CursorPageResponse<OrderSummaryResponse> getOrderHistory(Long userId, String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Slice<OrderSummaryResponse> orders = orderRepository.findSummariesByBuyerAfter(
+                userId, position.createdAt(), position.id(), KeysetCursor.limit(size));
+        return CursorPageResponse.of(orders, Function.identity(),
+                last -> new KeysetCursor(last.createdAt(), last.id()).encode());
     }
 
 
@@ -148,8 +158,8 @@ public class OrderServiceImpl implements OrderService {
                 .build();
         statusHistoryRepository.save(statusHistory);
 
-        // Send notification
-        notificationService.notifyOrderStatusChange(updatedOrder, oldStatus, request.status(), updatedBy);
+        // Notification goes out after commit
+        orderOutbox.orderStatusChanged(updatedOrder, oldStatus, request.status(), updatedBy);
 
         return orderMapper.toResponse(updatedOrder);
     }
@@ -185,7 +195,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public OrderResponse getOrderById(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with ID: " + orderId));
         return orderMapper.toResponse(order);
     }
@@ -198,22 +208,19 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public Page<OrderResponse> getOrdersByDesignCreator(Long partnerId, Pageable pageable) {
-        return orderRepository.findByItemsVariantProductDesignCreatorId(partnerId, pageable)
+        return orderRepository.findPartnerOrders(partnerId, pageable)
                 .map(orderMapper::toResponse);
     }
 
     @Override
     public boolean isOrderContainingPartnerDesigns(Long orderId, Long partnerId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new EntityNotFoundException("Order not found"));
-
-        // Check if any item in the order contains a design by this partner
-        return order.getItems().stream()
-                .anyMatch(item -> {
-                    Product product = item.getVariant().getProduct();
-                    Design design = product.getDesign();
-                    return design.getCreator().getId().equals(partnerId);
-                });
+        if (orderRepository.existsByIdAndItemsPartnerId(orderId, partnerId)) {
+            return true;
+        }
+        if (!orderRepository.existsById(orderId)) {
+            throw new EntityNotFoundException("Order not found");
+        }
+        return false;
     }
 
     private static Map<OrderStatus, List<OrderStatus>> createAllowedTransitionsMap() {
@@ -235,7 +242,7 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public Page<OrderResponse> getPartnerOrders(Long partnerId, Pageable pageable) {
         // Find orders that contain items with products designed by this partner
-        Page<Order> partnerOrders = orderRepository.findByItemsVariantProductDesignCreatorId(partnerId, pageable);
+        Page<Order> partnerOrders = orderRepository.findPartnerOrders(partnerId, pageable);
 
         return partnerOrders.map(orderMapper::toResponse);
     }
@@ -1,13 +1,17 @@
 package com.creativePrint.service.impl;
 
+import com.creativePrint.event.ProductChangedEvent;
 import com.creativePrint.repository.OrderItemRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.creativePrint.dto.design.req.DesignRequest;
 import com.creativePrint.dto.design.resp.DesignResponse;
 import com.creativePrint.dto.product.req.ProductRequest;
 import com.creativePrint.dto.product.req.ProductVariantRequest;
+import com.creativePrint.dto.product.resp.CursorPageResponse;
 import com.creativePrint.dto.product.resp.ProductResponse;
+import com.creativePrint.dto.req.KeysetCursor;
 import com.creativePrint.mapper.DesignMapper;
 import com.creativePrint.mapper.ProductMapper;
 import com.creativePrint.model.Categories;
@@ -20,10 +24,13 @@ import com.creativePrint.repository.DesignRepository;
 import com.creativePrint.repository.ProductRepository;
 import com.creativePrint.service.CloudinaryService;
 import com.creativePrint.service.PartnerService;
+import com.creativePrint.service.ProductSearchService;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +39,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -48,6 +56,8 @@ public class PartnerProductServiceImpl implements PartnerService {
     private final CategoriesRepository categoryRepository;
     private final CloudinaryService cloudinaryService;
     private final OrderItemRepository orderItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductSearchService productSearchService;
 
     @Override
     @Transactional
@@ -109,10 +119,12 @@ public class PartnerProductServiceImpl implements PartnerService {
         }
 
         savedProduct.setVariants(variants);
+        savedProduct.refreshAggregates();
         
 
         savedProduct = productRepository.save(savedProduct);
-        
+        eventPublisher.publishEvent(ProductChangedEvent.created(savedProduct.getId(), category.getName()));
+
         return productMapper.toResponse(savedProduct);
     }
 
@@ -137,6 +149,8 @@ public class PartnerProductServiceImpl implements PartnerService {
             throw new AccessDeniedException("You don't own this design");
         }
 
+        String previousCategory = existingProduct.getCategory().getName();
+
         // Update product details
         existingProduct.setName(request.name());
         existingProduct.setDescription(request.description());
@@ -197,9 +211,12 @@ public class PartnerProductServiceImpl implements PartnerService {
         // Update the product's variants
         existingProduct.getVariants().clear();
         existingProduct.getVariants().addAll(variantsToKeep);
+        existingProduct.refreshAggregates();
 
         // Save updated product
         Product updatedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(
+                updatedProduct.getId(), previousCategory, category.getName(), updatedProduct.isArchived()));
 
         return productMapper.toResponse(updatedProduct);
     }
@@ -215,8 +232,12 @@ public class PartnerProductServiceImpl implements PartnerService {
             throw new AccessDeniedException("You don't own this product");
         }
 
+        boolean wasArchived = existingProduct.isArchived();
         existingProduct.setArchived(true);
+        existingProduct.setUpdatedAt(Instant.now());
         productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.statusChanged(
+                productId, existingProduct.getCategory().getName(), wasArchived, true));
     }
 
     @Override
@@ -233,6 +254,16 @@ public class PartnerProductServiceImpl implements PartnerService {
                 .map(productMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> scrollPartnerProducts(User partner, String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Slice<Product> products = productRepository.findByDesignCreatorAfter(
+                partner, position.createdAt(), position.id(), KeysetCursor.limit(size));
+        return CursorPageResponse.of(products, productMapper::toResponse,
+                last -> new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ProductResponse getPartnerProduct(Long productId, User partner) {
@@ -246,9 +277,11 @@ public class PartnerProductServiceImpl implements PartnerService {
     @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(Pageable pageable, String search) {
         if (search != null && !search.trim().isEmpty()) {
-
-            return productRepository.findByNameContainingIgnoreCase(search, pageable)
-                    .map(productMapper::toResponse);
+            Page<Long> rankedIds = productSearchService.search(search, pageable);
+            List<ProductResponse> products = productRepository.findAllByIdInOrder(rankedIds.getContent()).stream()
+                    .map(productMapper::toResponse)
+                    .toList();
+            return new PageImpl<>(products, pageable, rankedIds.getTotalElements());
         }
         return productRepository.findAll(pageable)
                 .map(productMapper::toResponse);
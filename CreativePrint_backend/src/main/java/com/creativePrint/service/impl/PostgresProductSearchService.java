@@ -0,0 +1,96 @@
+package com.creativePrint.service.impl;
+
+import com.creativePrint.event.ProductChangedEvent;
+import com.creativePrint.search.SearchTokenizer;
+import com.creativePrint.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Search backed by a weighted tsvector column (GIN) plus a trigram index on the product name
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "search.mode", havingValue = "postgres")
+public class PostgresProductSearchService implements ProductSearchService {
+    private static final String SEARCH_VECTOR =
+            "setweight(to_tsvector('simple', coalesce(p.name, '')), 'A') || " +
+            "setweight(to_tsvector('simple', coalesce(c.name, '')), 'B') || " +
+            "setweight(to_tsvector('simple', coalesce(d.name, '')), 'B') || " +
+            "setweight(to_tsvector('simple', coalesce(p.description, '')), 'C')";
+
+    private static final String REFRESH_VECTOR =
+            "UPDATE product p SET search_vector = " + SEARCH_VECTOR + " " +
+            "FROM categories c, design d WHERE c.id = p.category_id AND d.id = p.design_id";
+
+    private static final String MATCHES =
+            "(p.search_vector @@ to_tsquery('simple', :tsquery) OR lower(p.name) % :raw)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Creating pg_trgm needs superuser rights the application role should not have, so it is a deployment step
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareSchema() {
+        Map<String, ?> noParams = Map.of();
+        Boolean trigramsInstalled = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", noParams, Boolean.class);
+        if (!Boolean.TRUE.equals(trigramsInstalled)) {
+            throw new IllegalStateException("search.mode=postgres needs the pg_trgm extension; run "
+                    + "'CREATE EXTENSION pg_trgm;' as a superuser in this database, or set search.mode=memory");
+        }
+        jdbcTemplate.update("ALTER TABLE product ADD COLUMN IF NOT EXISTS search_vector tsvector", noParams);
+        jdbcTemplate.update("CREATE INDEX IF NOT EXISTS idx_product_search_vector ON product USING GIN (search_vector)", noParams);
+        jdbcTemplate.update("CREATE INDEX IF NOT EXISTS idx_product_name_trgm ON product USING GIN (lower(name) gin_trgm_ops)", noParams);
+
+        int backfilled = jdbcTemplate.update(REFRESH_VECTOR + " AND p.search_vector IS NULL", noParams);
+        log.info("PostgreSQL product search ready, backfilled {} search vectors", backfilled);
+    }
+
+    // The originating transaction has already committed, so the refresh needs its own
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onProductChanged(ProductChangedEvent event) {
+        jdbcTemplate.update(REFRESH_VECTOR + " AND p.id = :id", Map.of("id", event.productId()));
+    }
+
+    @Override
+    public Page<Long> search(String query, Pageable pageable) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        // Tokens are alphanumeric only, so they are safe to splice into the tsquery syntax
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tsquery", tokens.stream().map(token -> token + ":*").collect(Collectors.joining(" & ")))
+                .addValue("raw", String.join(" ", tokens))
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT p.id FROM product p WHERE " + MATCHES + " " +
+                "ORDER BY ts_rank(p.search_vector, to_tsquery('simple', :tsquery)) DESC, " +
+                "similarity(lower(p.name), :raw) DESC, p.id DESC " +
+                "LIMIT :limit OFFSET :offset",
+                params, Long.class);
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product p WHERE " + MATCHES, params, Long.class);
+
+        return new PageImpl<>(ids, pageable, total == null ? 0 : total);
+    }
+}
@@ -1,73 +1,158 @@
 package com.creativePrint.service.impl;
 
+import com.creativePrint.cache.CatalogPageCache;
+import com.creativePrint.cache.CatalogPageKey;
+import com.creativePrint.cache.CategoryRegistry;
+import com.creativePrint.cache.ETags;
+import com.creativePrint.cache.ProductCache;
+import com.creativePrint.dto.product.req.CatalogSort;
+import com.creativePrint.dto.product.req.ProductFacetFilter;
+import com.creativePrint.dto.product.resp.CursorPageResponse;
+import com.creativePrint.dto.product.resp.ProductCatalogRow;
 import com.creativePrint.dto.product.resp.ProductDetailWithVariantsDTO;
 import com.creativePrint.dto.product.resp.ProductResponse;
 import com.creativePrint.dto.product.resp.ProductVariantDTO;
+import com.creativePrint.dto.product.resp.TaggedResponse;
 //import com.creativePrint.dto.product.resp.ProductDetailWithVariantsDTO;
 import com.creativePrint.dto.product.resp.ProductListResponse;
 //import com.creativePrint.dto.product.resp.ProductVariantDTO;
+import com.creativePrint.dto.req.KeysetCursor;
+import com.creativePrint.exception.entitesCustomExceptions.BadRequestException;
 import com.creativePrint.exception.entitesCustomExceptions.ResourceNotFoundException;
 import com.creativePrint.mapper.ProductMapper;
-import com.creativePrint.model.Categories;
 import com.creativePrint.model.Product;
 import com.creativePrint.model.ProductVariant;
-import com.creativePrint.repository.CategoriesRepository;
 import com.creativePrint.repository.ProductRepository;
+import com.creativePrint.search.ProductFacetIndex;
 import com.creativePrint.service.ProductCatalogService;
+import com.creativePrint.service.ProductFacetService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductCatalogServiceImpl implements ProductCatalogService {
+    private static final Duration HOT_WINDOW = Duration.ofDays(7);
+    private static final int MAX_BATCH_SIZE = 200;
 
     private final ProductRepository productRepository;
-    private final CategoriesRepository categoriesRepository;
+    private final CategoryRegistry categoryRegistry;
     private final ProductMapper productMapper;
+    private final ProductFacetService productFacetService;
+    private final ProductCache productCache;
+    private final CatalogPageCache catalogPageCache;
+
+    // No transaction here, so cache hits never take a connection; the repository call opens its own read-only one
+    @Override
+    public TaggedResponse<ProductListResponse> getProductCatalog(int page, int size, String category, CatalogSort sort) {
+        CatalogPageKey request = CatalogPageKey.of(page, size, category, sort);
+        return catalogPageCache.get(request, () -> loadCatalogPage(request));
+    }
+
+    private TaggedResponse<ProductListResponse> loadCatalogPage(CatalogPageKey request) {
+        Pageable pageable = PageRequest.of(request.page(), request.size(), request.sort().toSort());
+
+        Page<ProductCatalogRow> productsPage;
+        if (request.category() != null) {
+            CategoryRegistry.Entry categoryEntry = categoryRegistry.findByName(request.category())
+                    .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + request.category()));
+            productsPage = productRepository.findCatalogRowsByCategory(categoryEntry.id(), pageable);
+        } else {
+            productsPage = productRepository.findCatalogRows(pageable);
+        }
+
+        Instant hotCutoff = hotCutoff();
+        List<ProductListResponse.ProductDTO> productDTOs = productsPage.getContent().stream()
+                .map(row -> ProductListResponse.ProductDTO.fromCatalogRow(row, row.createdAt().isAfter(hotCutoff)))
+                .collect(Collectors.toList());
+
+        List<String> allCategories = categoryRegistry.names();
+
+        // Tagged from the content and cached together, so every instance serving this page sends the same tag
+        return TaggedResponse.of(new ProductListResponse(
+                productDTOs,
+                productsPage.getTotalPages(),
+                productsPage.getTotalElements(),
+                request.page(),
+                allCategories
+        ));
+    }
 
     @Override
     @Transactional(readOnly = true)
-    public ProductListResponse getProductCatalog(int page, int size, String category) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+    public TaggedResponse<CursorPageResponse<ProductListResponse.ProductDTO>> scrollProductCatalog(String cursor, int size,
+                                                                                              String category) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
 
-        Page<Product> productsPage;
+        Slice<ProductCatalogRow> rows;
         if (category != null && !category.isEmpty()) {
-            Categories categoryEntity = categoriesRepository.findByName(category)
+            CategoryRegistry.Entry categoryEntry = categoryRegistry.findByName(category)
                     .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + category));
-            productsPage = productRepository.findByCategoryIdAndArchived(
-                    categoryEntity.getId(),
-                    false,
-                    pageable
-            );
+            rows = productRepository.findCatalogRowsByCategoryAfter(
+                    categoryEntry.id(), position.createdAt(), position.id(), KeysetCursor.limit(size));
         } else {
-            productsPage = productRepository.findNonArchivedProducts(pageable);
+            rows = productRepository.findCatalogRowsAfter(
+                    position.createdAt(), position.id(), KeysetCursor.limit(size));
         }
 
-        List<ProductListResponse.ProductDTO> productDTOs = productsPage.getContent().stream()
-                .map(this::enhanceProductDTO)
-                .collect(Collectors.toList());
+        Instant hotCutoff = hotCutoff();
+        return TaggedResponse.of(CursorPageResponse.of(rows,
+                row -> ProductListResponse.ProductDTO.fromCatalogRow(row, row.createdAt().isAfter(hotCutoff)),
+                last -> new KeysetCursor(last.createdAt(), last.id()).encode()));
+    }
 
-        List<String> allCategories = categoriesRepository.findAll().stream()
-                .map(Categories::getName)
+    @Override
+    @Transactional(readOnly = true)
+    public ProductListResponse getFilteredCatalog(ProductFacetFilter filter, int requestedPage, int requestedSize) {
+        int page = Math.max(requestedPage, 0);
+        int size = CatalogPageKey.clampSize(requestedSize);
+        ProductFacetIndex.FacetResult result = productFacetService.filter(filter, page, size);
+
+        Map<Long, ProductCatalogRow> rowsById = result.productIds().isEmpty()
+                ? Map.of()
+                : productRepository.findCatalogRowsByIdIn(result.productIds()).stream()
+                        .collect(Collectors.toMap(ProductCatalogRow::id, Function.identity()));
+
+        Instant hotCutoff = hotCutoff();
+        List<ProductListResponse.ProductDTO> productDTOs = result.productIds().stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .map(row -> ProductListResponse.ProductDTO.fromCatalogRow(row, row.createdAt().isAfter(hotCutoff)))
                 .collect(Collectors.toList());
 
+        List<String> allCategories = categoryRegistry.names();
+
         return new ProductListResponse(
                 productDTOs,
-                productsPage.getTotalPages(),
-                productsPage.getTotalElements(),
+                (int) Math.ceil((double) result.totalMatches() / size),
+                result.totalMatches(),
                 page,
-                allCategories
+                allCategories,
+                result.counts()
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getProductETag(Long productId) {
+        return productRepository.findUpdatedAtById(productId)
+                .map(updatedAt -> ETags.of(productId, updatedAt, ETags.hotBucket()))
+                .orElse(null);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ProductListResponse.ProductDTO getProductDetails(Long productId) {
@@ -80,9 +165,29 @@ public class ProductCatalogServiceImpl implements ProductCatalogService {
     @Override
     @Transactional(readOnly = true)
     public ProductDetailWithVariantsDTO getProductDetailsWithVariants(Long productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
+        List<ProductDetailWithVariantsDTO> details = getProductDetailsWithVariants(List.of(productId));
+        if (details.isEmpty()) {
+            throw new ResourceNotFoundException("Product not found with ID: " + productId);
+        }
+        return details.get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDetailWithVariantsDTO> getProductDetailsWithVariants(List<Long> productIds) {
+        if (productIds.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " products can be fetched at once");
+        }
+
+        return productCache.getDetails(productIds, missing -> {
+            Instant hotCutoff = hotCutoff();
+            return productRepository.findWithVariantsByIdIn(missing).stream()
+                    .map(product -> toDetailWithVariants(product, hotCutoff))
+                    .collect(Collectors.toList());
+        });
+    }
 
+    private ProductDetailWithVariantsDTO toDetailWithVariants(Product product, Instant hotCutoff) {
         List<ProductVariantDTO> variantDTOs = product.getVariants().stream()
                 .map(this::mapToVariantDTO)
                 .collect(Collectors.toList());
@@ -94,7 +199,7 @@ public class ProductCatalogServiceImpl implements ProductCatalogService {
                 product.getBasePrice(),
                 product.getDesign().getDesignUrl(),
                 product.getCategory().getName(),
-                isProductHot(product),
+                product.getCreatedAt().isAfter(hotCutoff),
                 variantDTOs
         );
     }
@@ -127,10 +232,12 @@ public class ProductCatalogServiceImpl implements ProductCatalogService {
     }
 
     private boolean isProductHot(Product product) {
-        return java.time.Duration.between(
-                product.getCreatedAt(),
-                java.time.Instant.now()
-        ).toDays() < 7;
+        return product.getCreatedAt().isAfter(hotCutoff());
+    }
+
+    // Products created after this instant are "hot"; computed once per listing rather than per row
+    private Instant hotCutoff() {
+        return Instant.now().minus(HOT_WINDOW);
     }
 
 
@@ -0,0 +1,71 @@
+package com.creativePrint.service.impl;
+
+import com.creativePrint.dto.product.req.ProductFacetFilter;
+import com.creativePrint.dto.product.resp.ProductFacetRow;
+import com.creativePrint.event.ProductChangedEvent;
+import com.creativePrint.repository.ProductRepository;
+import com.creativePrint.search.ProductFacetIndex;
+import com.creativePrint.service.ProductFacetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductFacetServiceImpl implements ProductFacetService {
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final ProductFacetIndex index = new ProductFacetIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long lastId = 0L;
+        int loaded = 0;
+        List<Long> ids;
+        do {
+            ids = productRepository.findIdsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            indexProducts(ids);
+            loaded += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        } while (ids.size() == LOAD_BATCH_SIZE);
+
+        log.info("Product facet index loaded with {} products", loaded);
+    }
+
+    // Variants are rewritten by createProduct/updateProduct, so the whole product is re-indexed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        List<ProductFacetRow> rows = productRepository.findFacetRows(List.of(event.productId()));
+        if (rows.isEmpty()) {
+            index.remove(event.productId());
+        } else {
+            index.index(event.productId(), rows);
+        }
+    }
+
+    @Override
+    public ProductFacetIndex.FacetResult filter(ProductFacetFilter filter, int page, int size) {
+        // Pages past the end come back empty rather than overflowing the offset
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        return index.query(filter, offset, size);
+    }
+
+    private void indexProducts(List<Long> ids) {
+        Map<Long, List<ProductFacetRow>> rowsByProduct = productRepository.findFacetRows(ids).stream()
+                .collect(Collectors.groupingBy(ProductFacetRow::productId));
+        rowsByProduct.forEach(index::index);
+    }
+}
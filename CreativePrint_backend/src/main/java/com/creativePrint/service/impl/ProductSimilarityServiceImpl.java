@@ -0,0 +1,72 @@
+package com.creativePrint.service.impl;
+
+import com.creativePrint.dto.product.resp.ProductSimilarityRow;
+import com.creativePrint.event.ProductChangedEvent;
+import com.creativePrint.repository.ProductRepository;
+import com.creativePrint.search.ProductSimilarityIndex;
+import com.creativePrint.service.ProductSimilarityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSimilarityServiceImpl implements ProductSimilarityService {
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final ProductSimilarityIndex index = new ProductSimilarityIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long lastId = 0L;
+        List<Long> ids;
+        do {
+            ids = productRepository.findIdsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            indexProducts(ids);
+            lastId = ids.get(ids.size() - 1);
+        } while (ids.size() == LOAD_BATCH_SIZE);
+
+        log.info("Product similarity index loaded with {} products", index.size());
+    }
+
+    // Design elements only change together with the product, so product events are enough to keep up
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        List<ProductSimilarityRow> rows = productRepository.findSimilarityRows(List.of(event.productId()));
+        if (rows.isEmpty()) {
+            index.remove(event.productId());
+        } else {
+            index.index(event.productId(), rows);
+        }
+    }
+
+    @Override
+    public List<Long> findSimilarProductIds(Long productId, int limit) {
+        return index.similar(productId, limit, Instant.now());
+    }
+
+    @Override
+    public boolean isListed(Long productId) {
+        return index.contains(productId);
+    }
+
+    private void indexProducts(List<Long> ids) {
+        Map<Long, List<ProductSimilarityRow>> rowsByProduct = productRepository.findSimilarityRows(ids).stream()
+                .collect(Collectors.groupingBy(ProductSimilarityRow::productId));
+        rowsByProduct.forEach(index::index);
+    }
+}
@@ -1,144 +1,274 @@
 package com.creativePrint.service.impl;
 
+import com.creativePrint.cache.ProductCache;
+import com.creativePrint.dto.product.resp.BulkRecommendations;
 import com.creativePrint.dto.product.resp.ProductResponse;
 import com.creativePrint.enums.InteractionType;
+import com.creativePrint.enums.TrendingWindow;
+import com.creativePrint.event.InteractionsWrittenEvent;
+import com.creativePrint.exception.entitesCustomExceptions.ResourceNotFoundException;
 import com.creativePrint.mapper.ProductMapper;
-import com.creativePrint.model.Product;
-import com.creativePrint.model.User;
-import com.creativePrint.model.UserInteraction;
+import com.creativePrint.recommendation.CoOccurrenceModel;
+import com.creativePrint.recommendation.CoOccurrenceRecommender;
+import com.creativePrint.recommendation.MatrixFactorizationModel;
+import com.creativePrint.recommendation.MatrixFactorizationRecommender;
+import com.creativePrint.recommendation.TrendingEngine;
+import com.creativePrint.recommendation.UserRecommendationCache;
 import com.creativePrint.repository.ProductRepository;
 import com.creativePrint.repository.UserInteractionRepository;
+import com.creativePrint.search.SearchTokenizer;
+import com.creativePrint.service.ProductSimilarityService;
 import com.creativePrint.service.RecommendationService;
+import com.creativePrint.service.SearchAutocompleteService;
+import com.creativePrint.tracking.InteractionEvent;
+import com.creativePrint.tracking.InteractionIngestor;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RecommendationServiceImpl implements RecommendationService {
+    private static final int TRENDING_HEADROOM = 10;
+    // Ids ranked and cached per user; every limit is clamped to this, so requests are served from the cached list
+    private static final int RECOMMENDATION_POOL = 50;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+
     private final UserInteractionRepository interactionRepository;
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final InteractionIngestor interactionIngestor;
+    private final CoOccurrenceRecommender coOccurrenceRecommender;
+    private final MatrixFactorizationRecommender matrixFactorizationRecommender;
+    private final TrendingEngine trendingEngine;
+    private final UserRecommendationCache userRecommendationCache;
+    private final ProductCache productCache;
+    private final ProductSimilarityService productSimilarityService;
+    private final SearchAutocompleteService searchAutocompleteService;
 
-    private static final Map<InteractionType, Integer> INTERACTION_WEIGHTS = Map.of(
-            InteractionType.VIEW, 1,
-            InteractionType.ADD_TO_CART, 3,
-            InteractionType.PURCHASE, 5,
-            InteractionType.LIKE, 2
-    );
+    private final ForkJoinPool bulkPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
 
     @Override
-    @Transactional
-    public void trackInteraction(User user, Product product, InteractionType type) {
-        UserInteraction interaction = UserInteraction.builder()
-                .user(user)
-                .product(product)
-                .type(type)
-                .weight(INTERACTION_WEIGHTS.getOrDefault(type, 1))
-                .timestamp(Instant.now())
-                .build();
+    public void trackInteraction(Long userId, Long productId, InteractionType type) {
+        // Checked against the in-memory similarity index, so tracking stays free of database reads while
+        // unknown ids never reach user_interactions or trending
+        if (!productSimilarityService.isListed(productId)) {
+            throw new ResourceNotFoundException("Product not found with ID: " + productId);
+        }
+        interactionIngestor.submit(new InteractionEvent(
+                userId, productId, type, type.getWeight(), null, Instant.now()));
+        trendingEngine.record(productId, type.getWeight());
+    }
+
+    @Override
+    public void trackInteractions(Long userId, List<Long> productIds, InteractionType type) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        interactionIngestor.submitAll(productIds.stream()
+                .map(productId -> new InteractionEvent(userId, productId, type, type.getWeight(), null, now))
+                .toList());
+        productIds.forEach(productId -> trendingEngine.record(productId, type.getWeight()));
+    }
 
-        interactionRepository.save(interaction);
+    // Purchases and cart adds move the user's profile enough to re-rank; views and likes wait for the TTL.
+    // Evicting only once the rows are written keeps a request in between from re-caching the old ranking.
+    @EventListener
+    public void onInteractionsWritten(InteractionsWrittenEvent event) {
+        event.events().stream()
+                .filter(written -> written.type() == InteractionType.PURCHASE
+                        || written.type() == InteractionType.ADD_TO_CART)
+                .map(InteractionEvent::userId)
+                .distinct()
+                .forEach(userRecommendationCache::invalidate);
     }
 
     @Override
-    @Transactional
-    public void trackSearch(User user, String searchQuery) {
-        UserInteraction interaction = UserInteraction.builder()
-                .user(user)
-                .type(InteractionType.SEARCH)
-                .searchQuery(searchQuery)
-                .weight(1)
-                .timestamp(Instant.now())
-                .build();
+    public void trackSearch(Long userId, String searchQuery) {
+        // Stored normalized so search_query_stats counts "Red Shirt" and "red  shirt" as one query
+        String normalized = SearchTokenizer.normalizeQuery(searchQuery);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        if (normalized.length() > MAX_SEARCH_QUERY_LENGTH) {
+            normalized = normalized.substring(0, MAX_SEARCH_QUERY_LENGTH);
+        }
+        interactionIngestor.submit(new InteractionEvent(
+                userId, null, InteractionType.SEARCH, InteractionType.SEARCH.getWeight(), normalized, Instant.now()));
+        searchAutocompleteService.recordSearch(normalized);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getPersonalizedRecommendations(Long userId, int requestedLimit) {
+        List<Long> recommendedProductIds = userRecommendationCache.get(userId,
+                () -> rankRecommendations(userId, RECOMMENDATION_POOL));
 
-        interactionRepository.save(interaction);
+        return hydrate(recommendedProductIds, clampLimit(requestedLimit));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponse> getPersonalizedRecommendations(Long userId, int limit) {
-        // Strategy 1: Content-based recommendations
-        List<Object[]> userInteractions = interactionRepository.findMostInteractedProductsByUser(userId);
+    public BulkRecommendations getBulkRecommendations(Collection<Long> userIds, int requestedLimit) {
+        int limit = clampLimit(requestedLimit);
+        // One snapshot of every model for the whole batch, so all users are ranked against the same state
+        MatrixFactorizationModel factorModel = matrixFactorizationRecommender.snapshot();
+        CoOccurrenceModel coOccurrenceModel = coOccurrenceRecommender.snapshot();
+        int ranked = limit + TRENDING_HEADROOM;
+        List<Long> trending = trendingEngine.top(TrendingWindow.DAILY, ranked);
 
-        if (userInteractions.isEmpty()) {
-            // Fall back to trending products if user has no interactions
-            return getTrendingProducts(limit);
+        // Factor results are in memory; every user they leave short falls back on interaction seeds, which are
+        // loaded in one query up front so the parallel ranking below never touches the database
+        Map<Long, List<Long>> factorByUser = inBulkPool(() -> userIds.parallelStream().distinct()
+                .collect(Collectors.toConcurrentMap(userId -> userId,
+                        userId -> factorRecommendations(factorModel, userId, ranked))));
+        List<Long> shortUsers = factorByUser.entrySet().stream()
+                .filter(entry -> entry.getValue().size() < ranked)
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<Long, Map<Long, Long>> seedsByUser = new HashMap<>();
+        if (!shortUsers.isEmpty()) {
+            interactionRepository.findMostInteractedProductsByUsers(shortUsers).forEach(row -> seedsByUser
+                    .computeIfAbsent(((Number) row[0]).longValue(), id -> new LinkedHashMap<>())
+                    .put(((Number) row[1]).longValue(), ((Number) row[2]).longValue()));
         }
 
-        // Get product IDs that the user has interacted with most
-        List<Long> topProductIds = userInteractions.stream()
-                .map(row -> (Long) row[0])
-                .limit(5)
-                .collect(Collectors.toList());
+        Map<Long, List<Long>> rankedByUser = inBulkPool(() -> factorByUser.entrySet().parallelStream()
+                .collect(Collectors.toConcurrentMap(Map.Entry::getKey, entry -> rank(entry.getValue(),
+                        coOccurrenceModel, () -> seedsByUser.getOrDefault(entry.getKey(), Map.of()),
+                        () -> trending, ranked))));
 
-        // Find similar products based on categories and designs
-        Set<Long> recommendedProductIds = new HashSet<>();
-        for (Long productId : topProductIds) {
-            List<Product> similarProducts = findSimilarProducts(productId);
-            similarProducts.stream()
-                    .map(Product::getId)
-                    .forEach(recommendedProductIds::add);
+        // Every distinct product is hydrated once for the whole batch; archived ones are dropped from the lists
+        Set<Long> distinctIds = new LinkedHashSet<>();
+        rankedByUser.values().forEach(distinctIds::addAll);
+        Map<Long, ProductResponse> products = new HashMap<>();
+        hydrate(new ArrayList<>(distinctIds), distinctIds.size()).forEach(product -> products.put(product.id(), product));
 
-            if (recommendedProductIds.size() >= limit) {
-                break;
-            }
+        Map<Long, List<Long>> productIdsByUser = new HashMap<>();
+        rankedByUser.forEach((userId, ids) -> productIdsByUser.put(userId,
+                ids.stream().filter(products::containsKey).limit(limit).toList()));
+        return new BulkRecommendations(productIdsByUser, products);
+    }
+
+    @PreDestroy
+    public void shutdownBulkPool() {
+        bulkPool.shutdownNow();
+    }
+
+    private List<Long> rankRecommendations(Long userId, int limit) {
+        return rank(factorRecommendations(matrixFactorizationRecommender.snapshot(), userId, limit),
+                coOccurrenceRecommender.snapshot(),
+                () -> seedWeights(interactionRepository.findMostInteractedProductsByUser(userId)),
+                () -> trendingEngine.top(TrendingWindow.DAILY, limit), limit);
+    }
+
+    // Strategy 1: Matrix factorization; users known to the trained model need no database reads at all.
+    // Products archived since training are skipped here, so a full list really is full after hydration.
+    private List<Long> factorRecommendations(MatrixFactorizationModel factorModel, Long userId, int limit) {
+        return factorModel.recommend(userId, matrixFactorizationRecommender.unlistedProducts(), limit);
+    }
+
+    private List<Long> rank(List<Long> factorRecommendations, CoOccurrenceModel coOccurrenceModel,
+                            Supplier<Map<Long, Long>> seeds, Supplier<List<Long>> trending, int limit) {
+        List<Long> recommendedProductIds = new ArrayList<>(factorRecommendations);
+        if (recommendedProductIds.size() >= limit) {
+            return recommendedProductIds;
         }
 
-        // Strategy 2: If not enough recommendations, add collaborative filtering
-        if (recommendedProductIds.size() < limit) {
-            List<Long> collaborativeIds = interactionRepository.findCollaborativeRecommendations(userId);
-            collaborativeIds.stream()
+        Map<Long, Long> seedWeights = seeds.get();
+
+        if (seedWeights.isEmpty()) {
+            // Fall back to trending products if user has no interactions
+            trending.get().stream()
                     .filter(id -> !recommendedProductIds.contains(id))
                     .limit(limit - recommendedProductIds.size())
                     .forEach(recommendedProductIds::add);
+            return recommendedProductIds;
         }
 
-        // Get actual product entities and map to DTOs
-        return productRepository.findAllById(recommendedProductIds).stream()
-                .map(productMapper::toResponse)
-                .limit(limit)
-                .collect(Collectors.toList());
+        // Strategy 2: Collaborative filtering from the precomputed co-occurrence model
+        coOccurrenceModel.recommend(seedWeights, recommendedProductIds, limit).stream()
+                .limit(limit - recommendedProductIds.size())
+                .forEach(recommendedProductIds::add);
+
+        // Strategy 3: If not enough recommendations, add products similar by category, designer and design elements
+        if (recommendedProductIds.size() < limit) {
+            for (Long productId : seedWeights.keySet().stream().limit(5).toList()) {
+                productSimilarityService.findSimilarProductIds(productId, limit).stream()
+                        .filter(id -> !recommendedProductIds.contains(id) && !seedWeights.containsKey(id))
+                        .limit(limit - recommendedProductIds.size())
+                        .forEach(recommendedProductIds::add);
+
+                if (recommendedProductIds.size() >= limit) {
+                    break;
+                }
+            }
+        }
+
+        return recommendedProductIds;
+    }
+
+    private static Map<Long, Long> seedWeights(List<Object[]> userInteractions) {
+        Map<Long, Long> seedWeights = new LinkedHashMap<>();
+        userInteractions.forEach(row -> seedWeights.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue()));
+        return seedWeights;
+    }
+
+    private <T> T inBulkPool(Callable<T> task) {
+        try {
+            return bulkPool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk recommendation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Bulk recommendation failed", e.getCause());
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponse> getSimilarProducts(Long productId, int limit) {
-        List<Product> similarProducts = findSimilarProducts(productId);
-        return similarProducts.stream()
-                .filter(p -> !p.getId().equals(productId)) // Exclude the original product
-                .map(productMapper::toResponse)
-                .limit(limit)
-                .collect(Collectors.toList());
+    public List<ProductResponse> getSimilarProducts(Long productId, int requestedLimit) {
+        int limit = clampLimit(requestedLimit);
+        return hydrate(productSimilarityService.findSimilarProductIds(productId, limit), limit);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ProductResponse> getTrendingProducts(int limit) {
-        // Query to find recently purchased products
-        List<Long> trendingProductIds = interactionRepository.findTop10TrendingProducts();
+        return getTrendingProducts(TrendingWindow.DAILY, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getTrendingProducts(TrendingWindow window, int requestedLimit) {
+        int limit = clampLimit(requestedLimit);
+        // Over-fetch a little so archived products can be dropped without coming up short
+        return hydrate(trendingEngine.top(window, limit + TRENDING_HEADROOM), limit);
+    }
 
-        // Get actual product entities and map to DTOs
-        return productRepository.findAllById(trendingProductIds).stream()
-                .map(productMapper::toResponse)
+    // Product DTOs come from the shared product cache; only misses hit the database, in one fetch-joined query
+    private List<ProductResponse> hydrate(List<Long> productIds, int limit) {
+        return productCache.getResponses(productIds, missing -> productRepository.findWithVariantsByIdIn(missing).stream()
+                        .map(productMapper::toResponse)
+                        .toList())
+                .stream()
+                .filter(product -> !product.archived())
                 .limit(limit)
                 .collect(Collectors.toList());
     }
 
-    // Helper method to find similar products based on category and design attributes
-    private List<Product> findSimilarProducts(Long productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new NoSuchElementException("Product not found"));
-
-        // Find products with the same category or by the same designer
-        return productRepository.findSimilarProducts(
-                product.getCategory().getId(),
-                product.getDesign().getCreator().getId(),
-                productId
-        );
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, RECOMMENDATION_POOL));
     }
-}
\ No newline at end of file
+}
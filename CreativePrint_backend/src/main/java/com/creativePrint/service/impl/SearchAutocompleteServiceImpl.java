@@ -0,0 +1,134 @@
+package com.creativePrint.service.impl;
+
+import com.creativePrint.dto.search.resp.TopSearchResponse;
+import com.creativePrint.repository.ProductRepository;
+import com.creativePrint.repository.SearchQueryStatRepository;
+import com.creativePrint.search.AutocompleteIndex;
+import com.creativePrint.search.SearchTokenizer;
+import com.creativePrint.service.SearchAutocompleteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.creativePrint.repository.UserInteractionRepository.INTERACTION_COMPACTION;
+
+/**
+ * Autocomplete over product names and past searches. The trie is rebuilt on a schedule from the listed product
+ * names and every query searched at least min-search-count times, counting both search_query_stats and the
+ * searches not yet compacted. Between rebuilds, searches for known terms are added to it directly; new queries
+ * are counted in a bounded pending map and only enter the trie once they reach min-search-count.
+ */
+@Slf4j
+@Service
+public class SearchAutocompleteServiceImpl implements SearchAutocompleteService {
+    // A product name outranks a query searched once but not one searched a handful of times
+    private static final double PRODUCT_NAME_WEIGHT = 2.0;
+    private static final int MAX_PENDING_QUERIES = 10_000;
+
+    private static final String STATS_SQL = "SELECT query, search_count FROM search_query_stats WHERE search_count >= ?";
+    // Uncompacted searches whose total with the compacted count reaches the threshold; the compacted part is only
+    // added here when STATS_SQL skipped it
+    private static final String PENDING_SQL = "SELECT p.query, p.searches + CASE WHEN s.search_count < ? THEN s.search_count ELSE 0 END " +
+            "FROM (SELECT LEFT(LOWER(TRIM(search_query)), 100) AS query, COUNT(*) AS searches FROM user_interactions " +
+            "WHERE type = 'SEARCH' AND search_query IS NOT NULL AND id > " +
+            "(SELECT COALESCE(MAX(last_id), 0) FROM job_watermarks WHERE name = ?) " +
+            "GROUP BY LEFT(LOWER(TRIM(search_query)), 100)) p " +
+            "LEFT JOIN search_query_stats s ON s.query = p.query " +
+            "WHERE p.searches + COALESCE(s.search_count, 0) >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductRepository productRepository;
+    private final SearchQueryStatRepository searchQueryStatRepository;
+    private final int minSearchCount;
+
+    private volatile AutocompleteIndex index = new AutocompleteIndex();
+    private volatile Map<String, Integer> pending = new ConcurrentHashMap<>();
+
+    public SearchAutocompleteServiceImpl(DataSource dataSource,
+                                         ProductRepository productRepository,
+                                         SearchQueryStatRepository searchQueryStatRepository,
+                                         @Value("${search.autocomplete.min-search-count:2}") int minSearchCount) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(5000);
+        this.productRepository = productRepository;
+        this.searchQueryStatRepository = searchQueryStatRepository;
+        this.minSearchCount = minSearchCount;
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = SearchTokenizer.normalizeQuery(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return index.suggest(normalized, Math.min(limit, AutocompleteIndex.SUGGESTIONS_PER_NODE));
+    }
+
+    @Override
+    public void recordSearch(String normalizedQuery) {
+        AutocompleteIndex current = index;
+        if (current.contains(normalizedQuery)) {
+            current.add(normalizedQuery, null, 1);
+            return;
+        }
+
+        Map<String, Integer> counts = pending;
+        if (counts.size() >= MAX_PENDING_QUERIES && !counts.containsKey(normalizedQuery)) {
+            return;
+        }
+        int[] promoted = {0};
+        counts.compute(normalizedQuery, (query, searches) -> {
+            int total = searches == null ? 1 : searches + 1;
+            if (total < minSearchCount) {
+                return total;
+            }
+            promoted[0] = total;
+            return null;
+        });
+        if (promoted[0] > 0) {
+            current.add(normalizedQuery, null, promoted[0]);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TopSearchResponse> getTopSearches(int limit) {
+        return searchQueryStatRepository.findAllByOrderBySearchCountDesc(PageRequest.of(0, limit)).stream()
+                .map(stat -> new TopSearchResponse(stat.getQuery(), stat.getSearchCount(), stat.getLastSearchedAt()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${search.autocomplete.rebuild-interval:10m}",
+            fixedDelayString = "${search.autocomplete.rebuild-interval:10m}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        AutocompleteIndex rebuilt = new AutocompleteIndex();
+
+        productRepository.findListedProductNames().forEach(name ->
+                rebuilt.add(SearchTokenizer.normalizeQuery(name), name.trim(), PRODUCT_NAME_WEIGHT));
+        jdbcTemplate.query(STATS_SQL, rs -> {
+            rebuilt.add(SearchTokenizer.normalizeQuery(rs.getString(1)), null, rs.getLong(2));
+        }, minSearchCount);
+        jdbcTemplate.query(PENDING_SQL, rs -> {
+            rebuilt.add(SearchTokenizer.normalizeQuery(rs.getString(1)), null, rs.getLong(2));
+        }, minSearchCount, INTERACTION_COMPACTION, minSearchCount);
+
+        index = rebuilt;
+        pending = new ConcurrentHashMap<>();
+        log.info("Autocomplete index rebuilt with {} terms in {} ms", rebuilt.size(),
+                System.currentTimeMillis() - started);
+    }
+}
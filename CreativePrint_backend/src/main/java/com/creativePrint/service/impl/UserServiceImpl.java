@@ -9,6 +9,7 @@ import com.creativePrint.exception.entitesCustomExceptions.ResourceNotFoundExcep
 import com.creativePrint.model.User;
 import com.creativePrint.repository.TokenRepository;
 import com.creativePrint.repository.UserInteractionRepository;
+import com.creativePrint.repository.UserProductScoreRepository;
 import com.creativePrint.repository.UserProfileRepository;
 import com.creativePrint.repository.UserRepository;
 import com.creativePrint.service.UserService;
@@ -23,6 +24,7 @@ public class UserServiceImpl implements UserService {
     private final TokenRepository tokenRepository;
     private final UserProfileRepository userProfileRepository;
     private final UserInteractionRepository userInteractionRepository;
+    private final UserProductScoreRepository userProductScoreRepository;
    
     @Transactional
     @Override
@@ -34,6 +36,7 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("Cannot delete admin users");
         }
         userInteractionRepository.deleteByUserId(userId);
+        userProductScoreRepository.deleteByUserId(userId);
         userProfileRepository.findByUser_Id(userId).ifPresent(userProfileRepository::delete);
         tokenRepository.deleteByUserId(userId);
         userRepository.delete(user);
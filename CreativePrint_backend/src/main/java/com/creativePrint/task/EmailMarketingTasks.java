@@ -1,40 +1,48 @@
 package com.creativePrint.task;
 
+import com.creativePrint.dto.product.resp.BulkRecommendations;
 import com.creativePrint.model.User;
 import com.creativePrint.repository.UserRepository;
 import com.creativePrint.service.EmailMarketingService;
+import com.creativePrint.service.RecommendationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.awt.print.Pageable;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class EmailMarketingTasks {
+    private static final int CAMPAIGN_BATCH_SIZE = 1000;
+    private static final int PRODUCTS_PER_EMAIL = 5;
+
     private final EmailMarketingService emailMarketingService;
     private final UserRepository userRepository;
+    private final RecommendationService recommendationService;
     
     // Send weekly new product emails every Monday at 10:00 AM
     @Scheduled(cron = "0 0 10 * * MON")
     public void sendWeeklyNewProductEmails() {
         log.info("Starting weekly new product email campaign");
 
-
-        Pageable pageable = (Pageable) PageRequest.of(0, 100); // Adjust the page size as needed
-        List<User> activeUsers = userRepository.findByActive(true, (org.springframework.data.domain.Pageable) pageable).getContent();
-
-        for (User user : activeUsers) {
-            emailMarketingService.sendNewProductsEmail(user);
-        }
+        // Active users are walked page by page; each page gets its recommendations in one bulk call
+        int sent = 0;
+        Page<User> activeUsers;
+        int page = 0;
+        do {
+            activeUsers = userRepository.findByActive(true, PageRequest.of(page++, CAMPAIGN_BATCH_SIZE, Sort.by("id")));
+            List<Long> userIds = activeUsers.map(User::getId).getContent();
+            BulkRecommendations recommendations = recommendationService.getBulkRecommendations(userIds, PRODUCTS_PER_EMAIL);
+            sent += emailMarketingService.sendNewProductsEmails(activeUsers.getContent(), recommendations);
+        } while (activeUsers.hasNext());
         
-        log.info("Completed sending {} new product emails", activeUsers.size());
+        log.info("Completed sending {} new product emails", sent);
     }
     
     // Check for abandoned carts hourly
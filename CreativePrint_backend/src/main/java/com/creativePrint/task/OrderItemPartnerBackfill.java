@@ -0,0 +1,26 @@
+package com.creativePrint.task;
+
+import com.creativePrint.repository.OrderItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderItemPartnerBackfill {
+    private final OrderItemRepository orderItemRepository;
+
+    // Items placed before partner_id/created_at existed are invisible to partner order queries until stamped
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int updated = orderItemRepository.backfillPartnerOwnership();
+        if (updated > 0) {
+            log.info("Backfilled partner ownership for {} order items", updated);
+        }
+    }
+}
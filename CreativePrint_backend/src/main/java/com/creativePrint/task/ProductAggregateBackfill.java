@@ -0,0 +1,26 @@
+package com.creativePrint.task;
+
+import com.creativePrint.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductAggregateBackfill {
+    private final ProductRepository productRepository;
+
+    // Products saved before total_stock/min_price/max_price existed get their aggregates once
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int updated = productRepository.backfillAggregates();
+        if (updated > 0) {
+            log.info("Backfilled stock and price aggregates for {} products", updated);
+        }
+    }
+}
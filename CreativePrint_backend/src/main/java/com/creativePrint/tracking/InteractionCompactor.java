@@ -0,0 +1,146 @@
+package com.creativePrint.tracking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static com.creativePrint.repository.UserInteractionRepository.INTERACTION_COMPACTION;
+
+/**
+ * Folds raw user_interactions into user_product_score and search_query_stats, resuming from the id watermark
+ * in job_watermarks. Each batch and its watermark move commit together, so a crash never double counts.
+ * Rows newer than the settle delay are left for the next run, since the buffered writer can still be inserting
+ * around them. Compacted rows are deleted once they fall out of the retention window the trending seed reads from.
+ */
+@Slf4j
+@Component
+public class InteractionCompactor {
+    private static final String ENSURE_WATERMARK_SQL = "INSERT INTO job_watermarks (name, last_id, updated_at) " +
+            "VALUES (?, 0, ?) ON CONFLICT (name) DO NOTHING";
+    // Row lock keeps a second instance from compacting the same range concurrently
+    private static final String LOCK_WATERMARK_SQL = "SELECT last_id FROM job_watermarks WHERE name = ? FOR UPDATE";
+    private static final String WATERMARK_SQL = "SELECT COALESCE(MAX(last_id), 0) FROM job_watermarks WHERE name = ?";
+    private static final String UPDATE_WATERMARK_SQL = "UPDATE job_watermarks SET last_id = ?, updated_at = ? WHERE name = ?";
+    private static final String NEXT_IDS_SQL = "SELECT id, timestamp FROM user_interactions WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String UPSERT_SQL = "INSERT INTO user_product_score (user_id, product_id, weighted_score, last_seen) " +
+            "SELECT user_id, product_id, SUM(COALESCE(weight, 1)), MAX(timestamp) FROM user_interactions " +
+            "WHERE id > ? AND id <= ? AND user_id IS NOT NULL AND product_id IS NOT NULL " +
+            "GROUP BY user_id, product_id " +
+            "ON CONFLICT (user_id, product_id) DO UPDATE SET " +
+            "weighted_score = user_product_score.weighted_score + EXCLUDED.weighted_score, " +
+            "last_seen = GREATEST(user_product_score.last_seen, EXCLUDED.last_seen)";
+    // Queries are normalized when tracked; trimming and lower-casing here only matters for rows written before that
+    private static final String SEARCH_STATS_UPSERT_SQL = "INSERT INTO search_query_stats (query, search_count, last_searched_at) " +
+            "SELECT LEFT(LOWER(TRIM(search_query)), 100), COUNT(*), MAX(timestamp) FROM user_interactions " +
+            "WHERE id > ? AND id <= ? AND type = 'SEARCH' AND search_query IS NOT NULL AND TRIM(search_query) <> '' " +
+            "GROUP BY LEFT(LOWER(TRIM(search_query)), 100) " +
+            "ON CONFLICT (query) DO UPDATE SET " +
+            "search_count = search_query_stats.search_count + EXCLUDED.search_count, " +
+            "last_searched_at = GREATEST(search_query_stats.last_searched_at, EXCLUDED.last_searched_at)";
+    private static final String PRUNE_SQL = "DELETE FROM user_interactions WHERE id IN (" +
+            "SELECT id FROM user_interactions WHERE id <= ? AND timestamp < ? ORDER BY id LIMIT ?)";
+
+    private record RowMark(long id, Timestamp timestamp) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration settleDelay;
+    private final Duration retention;
+
+    private final Counter compacted;
+    private final Counter pruned;
+
+    public InteractionCompactor(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${tracking.compaction.batch-size:10000}") int batchSize,
+                                @Value("${tracking.compaction.settle-delay:5m}") Duration settleDelay,
+                                @Value("${tracking.compaction.retention:60d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.settleDelay = settleDelay;
+        this.retention = retention;
+
+        this.compacted = meterRegistry.counter("interactions.compacted");
+        this.pruned = meterRegistry.counter("interactions.pruned");
+    }
+
+    @Scheduled(initialDelayString = "${tracking.compaction.initial-delay:1m}",
+            fixedDelayString = "${tracking.compaction.interval:5m}")
+    public void compact() {
+        long started = System.currentTimeMillis();
+        Instant settledBefore = Instant.now().minus(settleDelay);
+
+        long rows = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> compactBatch(settledBefore));
+            rows += batch;
+        } while (batch == batchSize);
+
+        long deleted = prune();
+        if (rows > 0 || deleted > 0) {
+            log.info("Compacted {} interactions and pruned {} in {} ms", rows, deleted,
+                    System.currentTimeMillis() - started);
+        }
+    }
+
+    private int compactBatch(Instant settledBefore) {
+        Instant now = Instant.now();
+        jdbcTemplate.update(ENSURE_WATERMARK_SQL, INTERACTION_COMPACTION, Timestamp.from(now));
+        long watermark = jdbcTemplate.queryForObject(LOCK_WATERMARK_SQL, Long.class, INTERACTION_COMPACTION);
+
+        List<RowMark> next = jdbcTemplate.query(NEXT_IDS_SQL,
+                (rs, i) -> new RowMark(rs.getLong(1), rs.getTimestamp(2)), watermark, batchSize);
+
+        // Stop at the first unsettled row; ids are assigned in insert order, so everything after it is newer too
+        int settled = 0;
+        while (settled < next.size() && isSettled(next.get(settled), settledBefore)) {
+            settled++;
+        }
+        if (settled == 0) {
+            return 0;
+        }
+
+        long upTo = next.get(settled - 1).id();
+        jdbcTemplate.update(UPSERT_SQL, watermark, upTo);
+        jdbcTemplate.update(SEARCH_STATS_UPSERT_SQL, watermark, upTo);
+        jdbcTemplate.update(UPDATE_WATERMARK_SQL, upTo, Timestamp.from(now), INTERACTION_COMPACTION);
+        compacted.increment(settled);
+        return settled;
+    }
+
+    private static boolean isSettled(RowMark row, Instant settledBefore) {
+        return row.timestamp() == null || row.timestamp().toInstant().isBefore(settledBefore);
+    }
+
+    private long prune() {
+        Timestamp expiredBefore = Timestamp.from(Instant.now().minus(retention));
+        long deleted = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                Long watermark = jdbcTemplate.queryForObject(WATERMARK_SQL, Long.class, INTERACTION_COMPACTION);
+                return jdbcTemplate.update(PRUNE_SQL, watermark, expiredBefore, batchSize);
+            });
+            deleted += batch;
+        } while (batch == batchSize);
+
+        pruned.increment(deleted);
+        return deleted;
+    }
+}
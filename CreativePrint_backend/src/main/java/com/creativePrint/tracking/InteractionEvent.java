@@ -0,0 +1,14 @@
+package com.creativePrint.tracking;
+
+import com.creativePrint.enums.InteractionType;
+
+import java.time.Instant;
+
+public record InteractionEvent(
+        Long userId,
+        Long productId,
+        InteractionType type,
+        int weight,
+        String searchQuery,
+        Instant timestamp
+) {}
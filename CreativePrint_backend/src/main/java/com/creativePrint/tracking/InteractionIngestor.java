@@ -0,0 +1,224 @@
+package com.creativePrint.tracking;
+
+import com.creativePrint.enums.InteractionType;
+import com.creativePrint.event.InteractionsWrittenEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers interaction events in a bounded queue and writes them from a single background thread with
+ * batched inserts, flushing when a batch fills up or the flush interval passes. Callers never wait on the
+ * database: views are dropped when the buffer is full, other types wait briefly for room first. Each written
+ * batch is announced with an {@link InteractionsWrittenEvent}.
+ */
+@Slf4j
+@Component
+public class InteractionIngestor {
+    static final String INSERT_SQL = "INSERT INTO user_interactions " +
+            "(user_id, product_id, type, weight, search_query, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<InteractionEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long backpressureMillis;
+
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public InteractionIngestor(JdbcTemplate jdbcTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry,
+                               @Value("${tracking.buffer.capacity:10000}") int capacity,
+                               @Value("${tracking.buffer.batch-size:500}") int batchSize,
+                               @Value("${tracking.buffer.flush-interval:1s}") Duration flushInterval,
+                               @Value("${tracking.buffer.backpressure-timeout:50ms}") Duration backpressureTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.backpressureMillis = backpressureTimeout.toMillis();
+
+        this.accepted = meterRegistry.counter("interactions.accepted");
+        this.dropped = meterRegistry.counter("interactions.dropped");
+        this.written = meterRegistry.counter("interactions.written");
+        this.rejected = meterRegistry.counter("interactions.rejected");
+        Gauge.builder("interactions.buffer.size", buffer, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "interaction-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues the event. Inside a transaction it is queued after commit, so rolled-back work is not tracked.
+     */
+    public void submit(InteractionEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    // Same as submit for each event, with one synchronization for the whole group
+    public void submitAll(Collection<InteractionEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(InteractionIngestor.this::enqueue);
+                }
+            });
+        } else {
+            events.forEach(this::enqueue);
+        }
+    }
+
+    private void enqueue(InteractionEvent event) {
+        boolean queued;
+        if (event.type() == InteractionType.VIEW) {
+            queued = buffer.offer(event);
+        } else {
+            try {
+                queued = buffer.offer(event, backpressureMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+        }
+
+        if (queued) {
+            accepted.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void writeLoop() {
+        List<InteractionEvent> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+
+        while (running || !buffer.isEmpty() || !batch.isEmpty()) {
+            try {
+                long waitMillis = batch.isEmpty() ? flushIntervalMillis : Math.max(0, deadline - System.currentTimeMillis());
+                InteractionEvent event = running ? buffer.poll(waitMillis, TimeUnit.MILLISECONDS) : buffer.poll();
+                if (event != null) {
+                    if (batch.isEmpty()) {
+                        deadline = System.currentTimeMillis() + flushIntervalMillis;
+                    }
+                    batch.add(event);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            boolean due = !batch.isEmpty() && (batch.size() >= batchSize
+                    || System.currentTimeMillis() >= deadline
+                    || !running);
+            if (due) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<InteractionEvent> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                ps.setLong(1, event.userId());
+                if (event.productId() != null) {
+                    ps.setLong(2, event.productId());
+                } else {
+                    ps.setNull(2, Types.BIGINT);
+                }
+                ps.setString(3, event.type().name());
+                ps.setInt(4, event.weight());
+                ps.setString(5, event.searchQuery());
+                ps.setTimestamp(6, Timestamp.from(event.timestamp()));
+            });
+            written.increment(batch.size());
+            published(List.copyOf(batch));
+        } catch (DataAccessException e) {
+            // One bad row (e.g. a product id that no longer exists) fails the whole batch; retry row by row
+            log.warn("Interaction batch of {} failed, retrying rows individually: {}", batch.size(), e.getMessage());
+            published(batch.stream().filter(this::writeSingle).toList());
+        } catch (RuntimeException e) {
+            log.error("Dropping {} interactions after unexpected write failure", batch.size(), e);
+            rejected.increment(batch.size());
+        }
+    }
+
+    private boolean writeSingle(InteractionEvent event) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, event.userId(), event.productId(), event.type().name(), event.weight(),
+                    event.searchQuery(), Timestamp.from(event.timestamp()));
+            written.increment();
+            return true;
+        } catch (DataAccessException e) {
+            rejected.increment();
+            log.debug("Rejected interaction {}", event, e);
+            return false;
+        }
+    }
+
+    // Listeners run on the writer thread; a failing one must not stop the writes
+    private void published(List<InteractionEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            eventPublisher.publishEvent(new InteractionsWrittenEvent(events));
+        } catch (RuntimeException e) {
+            log.error("Interactions written listener failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Not interrupted, so an in-flight batch insert completes; the writer notices within one flush interval
+        running = false;
+        if (writer != null) {
+            writer.join(flushIntervalMillis + TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+}
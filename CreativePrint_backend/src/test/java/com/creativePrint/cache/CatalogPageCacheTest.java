@@ -0,0 +1,67 @@
+package com.creativePrint.cache;
+
+import com.creativePrint.config.CacheConfig;
+import com.creativePrint.dto.product.req.CatalogSort;
+import com.creativePrint.dto.product.resp.ProductListResponse;
+import com.creativePrint.dto.product.resp.TaggedResponse;
+import com.creativePrint.event.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogPageCacheTest {
+    private static final CatalogPageKey ALL = CatalogPageKey.of(0, 20, null, CatalogSort.NEWEST);
+    private static final CatalogPageKey MUGS = CatalogPageKey.of(0, 20, "Mugs", CatalogSort.NEWEST);
+
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogPageCache catalogPageCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalogPageCache = new CatalogPageCache(new CaffeineCacheManager(CacheConfig.PRODUCT_CATALOG_CACHE), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_LoadsOnceUntilTheCategoryChanges() {
+        TaggedResponse<ProductListResponse> first = catalogPageCache.get(MUGS, this::load);
+        assertSame(first, catalogPageCache.get(MUGS, this::load));
+
+        catalogPageCache.onProductChanged(ProductChangedEvent.created(1L, "T-Shirts"));
+        assertSame(first, catalogPageCache.get(MUGS, this::load));
+
+        catalogPageCache.onProductChanged(ProductChangedEvent.updated(2L, "T-Shirts", "Mugs", false));
+        assertNotSame(first, catalogPageCache.get(MUGS, this::load));
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.counter("cache.invalidations", "cache", CacheConfig.PRODUCT_CATALOG_CACHE).count());
+    }
+
+    @Test
+    void get_DoesNotServeAPageReadBeforeAChangeThatCommittedDuringTheLoad() {
+        TaggedResponse<ProductListResponse> stale = catalogPageCache.get(ALL, () -> {
+            TaggedResponse<ProductListResponse> page = load();
+            // The change commits and evicts after the query read the old rows, before the page is stored
+            catalogPageCache.onProductChanged(ProductChangedEvent.removed(3L, "Mugs", false));
+            return page;
+        });
+
+        TaggedResponse<ProductListResponse> next = catalogPageCache.get(ALL, this::load);
+
+        assertNotSame(stale, next);
+        assertSame(next, catalogPageCache.get(ALL, this::load));
+        assertEquals(2, loads.get());
+    }
+
+    private TaggedResponse<ProductListResponse> load() {
+        int load = loads.incrementAndGet();
+        return TaggedResponse.of(new ProductListResponse(List.of(), load, load, 0, List.of()));
+    }
+}
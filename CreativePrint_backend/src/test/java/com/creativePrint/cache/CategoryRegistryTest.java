@@ -0,0 +1,84 @@
+package com.creativePrint.cache;
+
+import com.creativePrint.dto.category.CategoryProductCount;
+import com.creativePrint.event.ProductChangedEvent;
+import com.creativePrint.model.Categories;
+import com.creativePrint.repository.CategoriesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryRegistryTest {
+
+    @Mock
+    private CategoriesRepository categoriesRepository;
+
+    @InjectMocks
+    private CategoryRegistry categoryRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(categoriesRepository.findAll()).thenReturn(List.of(
+                Categories.builder().id(1L).name("T-Shirts").build(),
+                Categories.builder().id(2L).name("Mugs").build()));
+        when(categoriesRepository.countListedProductsByCategory()).thenReturn(List.of(
+                new CategoryProductCount(1L, 4L)));
+    }
+
+    @Test
+    void snapshot_LoadsCategoriesWithCounts() {
+        CategoryRegistry.Snapshot snapshot = categoryRegistry.snapshot();
+
+        assertEquals(List.of("T-Shirts", "Mugs"), categoryRegistry.names());
+        assertEquals(4, snapshot.byName().get("T-Shirts").productCount());
+        assertEquals(0, categoryRegistry.findById(2L).orElseThrow().productCount());
+        assertTrue(categoryRegistry.findByName("Hats").isEmpty());
+    }
+
+    @Test
+    void onProductChanged_AppliesCountDeltasInNewVersion() {
+        CategoryRegistry.Snapshot before = categoryRegistry.snapshot();
+
+        categoryRegistry.onProductChanged(ProductChangedEvent.created(10L, "Mugs"));
+        categoryRegistry.onProductChanged(ProductChangedEvent.updated(11L, "T-Shirts", "Mugs", false));
+        categoryRegistry.onProductChanged(ProductChangedEvent.statusChanged(12L, "T-Shirts", false, true));
+
+        CategoryRegistry.Snapshot after = categoryRegistry.snapshot();
+        assertEquals(2, after.byName().get("T-Shirts").productCount());
+        assertEquals(2, after.byName().get("Mugs").productCount());
+        assertEquals(before.version() + 3, after.version());
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(4, before.byName().get("T-Shirts").productCount()); // old snapshot untouched
+        verify(categoriesRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onProductChanged_IgnoresChangesThatKeepListingUnchanged() {
+        CategoryRegistry.Snapshot before = categoryRegistry.snapshot();
+
+        categoryRegistry.onProductChanged(ProductChangedEvent.updated(11L, "T-Shirts", "T-Shirts", false));
+        categoryRegistry.onProductChanged(ProductChangedEvent.updated(12L, "Mugs", "T-Shirts", true));
+
+        assertSame(before, categoryRegistry.snapshot());
+    }
+
+    @Test
+    void onProductChanged_ReloadsForUnknownCategory() {
+        categoryRegistry.snapshot();
+
+        categoryRegistry.onProductChanged(ProductChangedEvent.created(10L, "Hats"));
+
+        verify(categoriesRepository, times(2)).findAll();
+    }
+}
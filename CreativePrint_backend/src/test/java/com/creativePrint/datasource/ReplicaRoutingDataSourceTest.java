@@ -0,0 +1,67 @@
+package com.creativePrint.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(DataSource.class);
+        replicaA = mock(DataSource.class);
+        replicaB = mock(DataSource.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("a", replicaA);
+        replicas.put("b", replicaB);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    void getConnection_RoundRobinsAcrossReplicas() throws SQLException {
+        Connection a = mock(Connection.class);
+        Connection b = mock(Connection.class);
+        when(replicaA.getConnection()).thenReturn(a);
+        when(replicaB.getConnection()).thenReturn(b);
+
+        assertSame(a, routingDataSource.getConnection());
+        assertSame(b, routingDataSource.getConnection());
+        assertSame(a, routingDataSource.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_FallsBackToPrimaryWhenReplicasFail() throws SQLException {
+        Connection primaryConnection = mock(Connection.class);
+        when(replicaA.getConnection()).thenThrow(new SQLException("down"));
+        when(replicaB.getConnection()).thenThrow(new SQLException("down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertSame(primaryConnection, routingDataSource.getConnection());
+
+        // Failed replicas stay out of rotation until the next health check
+        verify(replicaA, times(1)).getConnection();
+        verify(replicaB, times(1)).getConnection();
+        assertEquals(2.0, meterRegistry.counter("datasource.replica.fallback").count());
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").tag("pool", "a").gauge().value());
+    }
+}
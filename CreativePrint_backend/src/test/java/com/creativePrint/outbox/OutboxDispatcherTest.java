@@ -0,0 +1,133 @@
+package com.creativePrint.outbox;
+
+import com.creativePrint.enums.OutboxEventType;
+import com.creativePrint.enums.OutboxStatus;
+import com.creativePrint.model.OutboxEvent;
+import com.creativePrint.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OutboxDispatcherTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private OutboxEventRepository repository;
+    private OrderEventHandler handler;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxDispatcher dispatcher;
+    private List<OutboxEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        handler = mock(OrderEventHandler.class);
+        meterRegistry = new SimpleMeterRegistry();
+        events = new ArrayList<>();
+        dispatcher = new OutboxDispatcher(repository, handler, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC),
+                1, 3, Duration.ofSeconds(10), Duration.ofMinutes(5), 100, Duration.ofDays(7));
+
+        // The repository mock serves the stored events: oldest pending first, claims always succeed
+        when(repository.findFirstByOrderIdAndStatusOrderByIdAsc(anyLong(), eq(OutboxStatus.PENDING)))
+                .thenAnswer(invocation -> events.stream()
+                        .filter(e -> e.getOrderId().equals(invocation.getArgument(0)))
+                        .filter(e -> e.getStatus() == OutboxStatus.PENDING)
+                        .min(Comparator.comparing(OutboxEvent::getId)));
+        when(repository.claim(anyLong(), any(), any())).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.stop();
+    }
+
+    @Test
+    void drain_DeliversOrderEventsInIdOrder() throws Exception {
+        OutboxEvent confirmation = event(1L, OutboxEventType.ORDER_CONFIRMATION);
+        OutboxEvent tracking = event(2L, OutboxEventType.PURCHASE_TRACKING);
+
+        dispatcher.drain(7L);
+
+        var order = inOrder(handler);
+        order.verify(handler).handle(confirmation);
+        order.verify(handler).handle(tracking);
+        assertEquals(OutboxStatus.DELIVERED, confirmation.getStatus());
+        assertEquals(OutboxStatus.DELIVERED, tracking.getStatus());
+        assertEquals(NOW, tracking.getDeliveredAt());
+        assertEquals(2.0, meterRegistry.counter("outbox.delivered").count());
+    }
+
+    @Test
+    void drain_FailureSchedulesRetryAndHoldsBackLaterEvents() throws Exception {
+        OutboxEvent confirmation = event(1L, OutboxEventType.ORDER_CONFIRMATION);
+        OutboxEvent tracking = event(2L, OutboxEventType.PURCHASE_TRACKING);
+        doThrow(new MailSendException("smtp down")).when(handler).handle(confirmation);
+
+        dispatcher.drain(7L);
+
+        assertEquals(OutboxStatus.PENDING, confirmation.getStatus());
+        assertEquals(1, confirmation.getAttempts());
+        assertEquals(NOW.plusSeconds(10), confirmation.getNextAttemptAt());
+        assertTrue(confirmation.getLastError().contains("smtp down"));
+        verify(handler, never()).handle(tracking);
+        assertEquals(1.0, meterRegistry.counter("outbox.retried").count());
+    }
+
+    @Test
+    void drain_DeadLettersAfterMaxAttemptsAndMovesOn() throws Exception {
+        OutboxEvent confirmation = event(1L, OutboxEventType.ORDER_CONFIRMATION);
+        confirmation.setAttempts(2);
+        OutboxEvent tracking = event(2L, OutboxEventType.PURCHASE_TRACKING);
+        doThrow(new MailSendException("smtp down")).when(handler).handle(confirmation);
+
+        dispatcher.drain(7L);
+
+        assertEquals(OutboxStatus.DEAD, confirmation.getStatus());
+        assertEquals(OutboxStatus.DELIVERED, tracking.getStatus());
+        assertEquals(1.0, meterRegistry.counter("outbox.dead").count());
+    }
+
+    @Test
+    void drain_SkipsEventsClaimedElsewhere() throws Exception {
+        event(1L, OutboxEventType.ORDER_CONFIRMATION);
+        when(repository.claim(anyLong(), any(), any())).thenReturn(0);
+
+        dispatcher.drain(7L);
+
+        verifyNoInteractions(handler);
+    }
+
+    @Test
+    void backoff_DoublesUpToOneHour() {
+        assertEquals(Duration.ofSeconds(10), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(40), dispatcher.backoff(3));
+        assertEquals(Duration.ofHours(1), dispatcher.backoff(30));
+    }
+
+    private OutboxEvent event(Long id, OutboxEventType type) {
+        OutboxEvent event = OutboxEvent.builder()
+                .id(id)
+                .orderId(7L)
+                .type(type)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(NOW)
+                .createdAt(NOW)
+                .build();
+        events.add(event);
+        return event;
+    }
+}
@@ -0,0 +1,108 @@
+package com.creativePrint.recommendation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlsTrainerTest {
+
+    @TempDir
+    Path directory;
+
+    // Users 1-5 buy products 100-102, users 6-10 buy 200-202; user 1 has not seen 102 yet
+    private static AlsTrainer.Result trainTwoCommunities() {
+        AlsTrainer trainer = new AlsTrainer(8, 15, 0.05, 10, 42);
+        for (long user = 1; user <= 10; user++) {
+            long base = user <= 5 ? 100 : 200;
+            for (long product = base; product < base + 3; product++) {
+                if (user != 1 || product != 102) {
+                    trainer.accept(user, product, 5);
+                }
+            }
+        }
+        return trainer.train(new ForkJoinPool(2));
+    }
+
+    @Test
+    void recommendsUnseenProductFromOwnCommunity() throws Exception {
+        Path path = directory.resolve("model.bin");
+        MatrixFactorizationModel.write(path, trainTwoCommunities());
+        MatrixFactorizationModel model = MatrixFactorizationModel.open(path);
+
+        List<Long> recommended = model.recommend(1L, Set.of(), 2);
+
+        assertEquals(102L, recommended.get(0));
+        assertFalse(recommended.contains(100L));
+        assertFalse(recommended.contains(101L));
+        assertTrue(model.recommend(999L, Set.of(), 2).isEmpty());
+        assertFalse(model.recommend(1L, Set.of(102L), 2).contains(102L));
+    }
+
+    @Test
+    void modelFileRoundTripsFactors() throws Exception {
+        AlsTrainer.Result result = trainTwoCommunities();
+        Path path = directory.resolve("model.bin");
+        MatrixFactorizationModel.write(path, result);
+        // Rewriting replaces the file while the first mapping is still open
+        MatrixFactorizationModel first = MatrixFactorizationModel.open(path);
+        MatrixFactorizationModel.write(path, result);
+        MatrixFactorizationModel second = MatrixFactorizationModel.open(path);
+
+        assertEquals(10, second.users());
+        assertEquals(6, second.items());
+        assertArrayEquals(first.recommend(6L, Set.of(), 6).toArray(), second.recommend(6L, Set.of(), 6).toArray());
+    }
+
+    @Test
+    void truncatedModelFileIsRejectedOnOpen() throws Exception {
+        Path path = directory.resolve("model.bin");
+        MatrixFactorizationModel.write(path, trainTwoCommunities());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - Float.BYTES);
+        }
+
+        assertThrows(IOException.class, () -> MatrixFactorizationModel.open(path));
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    void modelFileLargerThanOneMappingIsRejectedOnOpen() throws Exception {
+        Path path = directory.resolve("model.bin");
+        MatrixFactorizationModel.write(path, trainTwoCommunities());
+        // Sparse, so the test does not actually write 3 GB
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(1), 3L * 1024 * 1024 * 1024);
+        }
+
+        assertThrows(IOException.class, () -> MatrixFactorizationModel.open(path));
+    }
+
+    @Test
+    void choleskySolveMatchesKnownSolution() {
+        // [[4, 2], [2, 3]] x = [2, 1] has x = [0.5, 0]
+        double[] a = {4, 0, 2, 3};
+        double[] b = {2, 1};
+
+        AlsTrainer.choleskySolve(a, b, 2);
+
+        assertEquals(0.5, b[0], 1e-9);
+        assertEquals(0.0, b[1], 1e-9);
+    }
+}
@@ -0,0 +1,78 @@
+package com.creativePrint.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoOccurrenceModelBuilderTest {
+
+    @Test
+    void build_RanksProductsBoughtTogetherAboveIncidentalViews() {
+        CoOccurrenceModelBuilder builder = new CoOccurrenceModelBuilder(10);
+        // Users 1 and 2 bought 10 and 20 together; user 3 viewed 10 and 30 once
+        builder.accept(1, 10, 5);
+        builder.accept(1, 20, 5);
+        builder.accept(2, 10, 5);
+        builder.accept(2, 20, 5);
+        builder.accept(3, 10, 1);
+        builder.accept(3, 30, 1);
+
+        CoOccurrenceModel model = builder.build();
+
+        assertEquals(3, model.size());
+        assertEquals(List.of(20L, 30L), model.neighbors(10, 5));
+        assertEquals(List.of(10L), model.neighbors(20, 5));
+        assertEquals(List.of(), model.neighbors(99, 5));
+    }
+
+    @Test
+    void build_KeepsOnlyTopKNeighbors() {
+        CoOccurrenceModelBuilder builder = new CoOccurrenceModelBuilder(2);
+        for (long product = 1; product <= 5; product++) {
+            builder.accept(1, product, product);
+        }
+
+        CoOccurrenceModel model = builder.build();
+
+        assertEquals(2, model.neighbors(1, 10).size());
+    }
+
+    @Test
+    void build_PairsOnlyTheHeaviestItemsOfAHeavyUser() {
+        CoOccurrenceModelBuilder builder = new CoOccurrenceModelBuilder(5);
+        int items = CoOccurrenceModelBuilder.MAX_PRODUCTS_PER_USER + 50;
+        for (long product = 1; product <= items; product++) {
+            builder.accept(1, product, product);
+        }
+        builder.accept(2, 1, 1);
+        builder.accept(2, 2, 1);
+
+        CoOccurrenceModel model = builder.build();
+
+        assertEquals(CoOccurrenceModelBuilder.MAX_PRODUCTS_PER_USER + 2, model.size());
+        assertEquals(List.of(2L), model.neighbors(1, 5));
+        assertEquals(5, model.neighbors(items, 10).size());
+        assertTrue(model.neighbors(50, 5).isEmpty());
+    }
+
+    @Test
+    void recommend_CombinesSeedsAndSkipsSeedsAndExcluded() {
+        CoOccurrenceModelBuilder builder = new CoOccurrenceModelBuilder(10);
+        builder.accept(1, 1, 5);
+        builder.accept(1, 2, 5);
+        builder.accept(1, 3, 5);
+        builder.accept(2, 4, 5);
+        builder.accept(2, 5, 5);
+        builder.accept(3, 1, 1);
+        builder.accept(3, 5, 1);
+
+        CoOccurrenceModel model = builder.build();
+        List<Long> result = model.recommend(Map.of(1L, 5, 4L, 1), Set.of(3L), 10);
+
+        assertEquals(List.of(2L, 5L), result);
+    }
+}
@@ -0,0 +1,73 @@
+package com.creativePrint.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecayedCounterTest {
+    private static final long HALF_LIFE = 1_000;
+
+    @Test
+    void score_DecaysAcrossRescales() {
+        DecayedCounter counter = new DecayedCounter(HALF_LIFE, 0);
+        counter.add(1L, 8, 0);
+        counter.add(1L, 8, 60 * HALF_LIFE);
+        counter.add(2L, 1, 65 * HALF_LIFE); // past the rescale threshold
+
+        assertEquals(8 * Math.pow(2, -66) + 8 * Math.pow(2, -6), counter.score(1L, 66 * HALF_LIFE), 1e-12);
+        assertEquals(0.5, counter.score(2L, 66 * HALF_LIFE), 1e-12);
+    }
+
+    @Test
+    void add_ConcurrentWithRescaleNeverInflatesScores() throws Exception {
+        int threads = 3;
+        long hitAt = 63_900; // just inside the rescale threshold of the starting landmark
+        long rescaleAt = 65_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Hits keep arriving while another thread moves the landmark; a hit scaled against the old landmark
+            // but added after the rescale would be about 2^64 too large
+            for (int round = 0; round < 20; round++) {
+                DecayedCounter counter = new DecayedCounter(HALF_LIFE, 0);
+                AtomicBoolean stop = new AtomicBoolean();
+                CountDownLatch running = new CountDownLatch(threads);
+
+                List<Future<Integer>> hits = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    long productId = t;
+                    hits.add(executor.submit(() -> {
+                        running.countDown();
+                        int count = 0;
+                        while (!stop.get()) {
+                            counter.add(productId, 1, hitAt);
+                            count++;
+                        }
+                        return count;
+                    }));
+                }
+                running.await();
+                Thread.sleep(1);
+                counter.add(99L, 1, rescaleAt);
+                Thread.sleep(1);
+                stop.set(true);
+
+                double perHit = Math.pow(2, (hitAt - rescaleAt) / (double) HALF_LIFE);
+                for (int t = 0; t < threads; t++) {
+                    int count = hits.get(t).get(30, TimeUnit.SECONDS);
+                    assertEquals(count * perHit, counter.score(t, rescaleAt), count * perHit * 1e-9);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
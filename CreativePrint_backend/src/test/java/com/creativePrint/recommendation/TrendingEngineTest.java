@@ -0,0 +1,107 @@
+package com.creativePrint.recommendation;
+
+import com.creativePrint.enums.TrendingWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class TrendingEngineTest {
+
+    private MutableClock clock;
+    private TrendingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        // Products 1-99 are listed
+        engine = new TrendingEngine(mock(JdbcTemplate.class), clock, productId -> productId > 0 && productId < 100);
+    }
+
+    @Test
+    void score_HalvesAfterEachHalfLife() {
+        engine.record(1L, 8);
+
+        clock.advance(Duration.ofHours(2));
+
+        assertEquals(2.0, engine.score(TrendingWindow.HOURLY, 1L), 1e-9);
+        assertEquals(8.0 * Math.pow(2, -2.0 / 24), engine.score(TrendingWindow.DAILY, 1L), 1e-9);
+    }
+
+    @Test
+    void top_FavoursRecentActivityInShortWindowsOnly() {
+        engine.record(1L, 10);            // burst that then goes quiet
+        clock.advance(Duration.ofHours(6));
+        engine.record(2L, 3);             // smaller but fresh
+        engine.refreshRankings();
+
+        assertEquals(List.of(2L, 1L), engine.top(TrendingWindow.HOURLY, 5));
+        assertEquals(List.of(1L, 2L), engine.top(TrendingWindow.WEEKLY, 5));
+        assertEquals(List.of(2L), engine.top(TrendingWindow.HOURLY, 1));
+    }
+
+    @Test
+    void record_KeepsRankingCorrectAcrossLandmarkRescale() {
+        engine.record(1L, 1);
+        clock.advance(Duration.ofHours(100)); // past the hourly counter's rescale point
+        engine.record(2L, 1);
+        engine.record(1L, 1);
+        engine.record(1L, 1);
+        engine.refreshRankings();
+
+        assertEquals(List.of(1L, 2L), engine.top(TrendingWindow.HOURLY, 5));
+        assertEquals(2.0, engine.score(TrendingWindow.HOURLY, 1L), 1e-6);
+        assertTrue(Double.isFinite(engine.score(TrendingWindow.HOURLY, 2L)));
+    }
+
+    @Test
+    void record_IgnoresUnknownProducts() {
+        engine.record(1L, 2);
+        engine.record(2L, 1);
+        for (long bogus = 1_000; bogus < 2_000; bogus++) {
+            engine.record(bogus, 100);
+        }
+        engine.refreshRankings();
+
+        for (TrendingWindow window : TrendingWindow.values()) {
+            assertEquals(List.of(1L, 2L), engine.top(window, 10));
+            assertEquals(0.0, engine.score(window, 1_500L));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
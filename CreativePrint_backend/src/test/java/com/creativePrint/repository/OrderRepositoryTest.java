@@ -0,0 +1,196 @@
+package com.creativePrint.repository;
+
+import com.creativePrint.dto.order.resp.OrderSummaryResponse;
+import com.creativePrint.dto.req.KeysetCursor;
+import com.creativePrint.enums.OrderStatus;
+import com.creativePrint.enums.Role;
+import com.creativePrint.model.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+public class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User buyer;
+    private Partner partner;
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        partner = entityManager.persist(Partner.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane@example.com")
+                .role(Role.PARTNER)
+                .active(true)
+                .commissionRate(10.0)
+                .build());
+        buyer = entityManager.persist(User.builder()
+                .firstName("John")
+                .lastName("Smith")
+                .email("john@example.com")
+                .role(Role.CLIENT)
+                .active(true)
+                .build());
+        Categories shirts = entityManager.persist(Categories.builder().name("T-Shirts").build());
+        Design design = entityManager.persist(Design.builder()
+                .name("Waves")
+                .designUrl("http://example.com/waves.png")
+                .creator(partner)
+                .build());
+        Product product = entityManager.persist(Product.builder()
+                .name("Shirt")
+                .basePrice(20.0)
+                .category(shirts)
+                .design(design)
+                .build());
+        ProductVariant variant = entityManager.persist(ProductVariant.builder()
+                .size("M")
+                .color("Black")
+                .priceAdjustment(0.0)
+                .stock(0)
+                .product(product)
+                .build());
+
+        // Five orders an hour apart with 1..5 items; the last two share a timestamp to exercise the id tiebreak
+        Instant base = Instant.parse("2025-01-01T00:00:00Z");
+        for (int n = 1; n <= 5; n++) {
+            Order order = Order.builder()
+                    .buyer(buyer)
+                    .totalPrice(20.0 * n)
+                    .status(OrderStatus.PENDING)
+                    .createdAt(base.plusSeconds(3600L * Math.min(n, 4)))
+                    .items(new ArrayList<>())
+                    .build();
+            for (int i = 0; i < n; i++) {
+                order.getItems().add(OrderItem.builder()
+                        .order(order)
+                        .variant(variant)
+                        .quantity(1)
+                        .partnerId(partner.getId())
+                        .createdAt(order.getCreatedAt())
+                        .build());
+            }
+            orderIds.add(entityManager.persist(order).getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findSummariesByBuyerAfter_PagesNewestFirstWithItemCounts() {
+        KeysetCursor start = KeysetCursor.start();
+        Slice<OrderSummaryResponse> first = orderRepository.findSummariesByBuyerAfter(
+                buyer.getId(), start.createdAt(), start.id(), KeysetCursor.limit(2));
+
+        assertTrue(first.hasNext());
+        assertEquals(List.of(orderIds.get(4), orderIds.get(3)),
+                first.getContent().stream().map(OrderSummaryResponse::id).toList());
+        assertEquals(5L, first.getContent().get(0).itemCount());
+
+        OrderSummaryResponse last = first.getContent().get(1);
+        Slice<OrderSummaryResponse> rest = orderRepository.findSummariesByBuyerAfter(
+                buyer.getId(), last.createdAt(), last.id(), KeysetCursor.limit(10));
+
+        assertFalse(rest.hasNext());
+        assertEquals(List.of(orderIds.get(2), orderIds.get(1), orderIds.get(0)),
+                rest.getContent().stream().map(OrderSummaryResponse::id).toList());
+        assertEquals(List.of(3L, 2L, 1L), rest.getContent().stream().map(OrderSummaryResponse::itemCount).toList());
+    }
+
+    @Test
+    void findDetailById_LoadsItemsInOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Order order = orderRepository.findDetailById(orderIds.get(2)).orElseThrow();
+        double commission = order.getItems().stream()
+                .mapToDouble(item -> ((Partner) item.getVariant().getProduct().getDesign().getCreator()).getCommissionRate())
+                .sum();
+
+        assertEquals(3, order.getItems().size());
+        assertEquals(30.0, commission, 1e-9);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findPartnerOrders_PagesOrdersOnceEachWithDistinctCount() {
+        Page<Order> page = orderRepository.findPartnerOrders(partner.getId(),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of(orderIds.get(4), orderIds.get(3)), page.getContent().stream().map(Order::getId).toList());
+        assertEquals(0, orderRepository.findPartnerOrders(buyer.getId(), PageRequest.of(0, 2)).getTotalElements());
+    }
+
+    @Test
+    void findLatestPartnerOrders_ReturnsNewestOrdersOnceEach() {
+        Page<Order> latest = orderRepository.findLatestPartnerOrders(partner.getId(), 3);
+
+        assertEquals(5, latest.getTotalElements());
+        assertEquals(List.of(orderIds.get(4), orderIds.get(3), orderIds.get(2)),
+                latest.getContent().stream().map(Order::getId).toList());
+        assertTrue(orderRepository.findLatestPartnerOrders(buyer.getId(), 3).isEmpty());
+    }
+
+    @Test
+    void findPartnerOrdersSince_UsesItemTimestamps() {
+        List<Order> recent = orderRepository.findPartnerOrdersSince(partner.getId(),
+                Instant.parse("2025-01-01T03:00:00Z"));
+
+        assertEquals(3, recent.size());
+        assertTrue(orderRepository.existsByIdAndItemsPartnerId(orderIds.get(0), partner.getId()));
+        assertFalse(orderRepository.existsByIdAndItemsPartnerId(orderIds.get(0), buyer.getId()));
+    }
+
+    @Test
+    void backfillPartnerOwnership_StampsItemsWithoutPartner() {
+        entityManager.getEntityManager()
+                .createQuery("UPDATE OrderItem i SET i.partnerId = NULL, i.createdAt = NULL WHERE i.order.id = :id")
+                .setParameter("id", orderIds.get(1))
+                .executeUpdate();
+
+        assertEquals(2, orderItemRepository.backfillPartnerOwnership());
+        entityManager.clear();
+
+        Order order = orderRepository.findDetailById(orderIds.get(1)).orElseThrow();
+        order.getItems().forEach(item -> {
+            assertEquals(partner.getId(), item.getPartnerId());
+            assertEquals(order.getCreatedAt(), item.getCreatedAt());
+        });
+    }
+}
@@ -0,0 +1,228 @@
+package com.creativePrint.repository;
+
+import com.creativePrint.dto.product.req.CatalogSort;
+import com.creativePrint.dto.product.resp.ProductCatalogRow;
+import com.creativePrint.dto.req.KeysetCursor;
+import com.creativePrint.enums.Role;
+import com.creativePrint.model.Categories;
+import com.creativePrint.model.Design;
+import com.creativePrint.model.Partner;
+import com.creativePrint.model.Product;
+import com.creativePrint.model.ProductVariant;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+public class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Categories shirts;
+    private Categories mugs;
+
+    @BeforeEach
+    void setUp() {
+        Partner partner = entityManager.persist(Partner.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane@example.com")
+                .role(Role.PARTNER)
+                .active(true)
+                .commissionRate(10.0)
+                .build());
+
+        Design design = entityManager.persist(Design.builder()
+                .name("Waves")
+                .designUrl("http://example.com/waves.png")
+                .creator(partner)
+                .build());
+
+        shirts = entityManager.persist(Categories.builder().name("T-Shirts").build());
+        mugs = entityManager.persist(Categories.builder().name("Mugs").build());
+
+        Instant now = Instant.now();
+        for (int i = 0; i < 12; i++) {
+            persistProduct("Shirt " + i, shirts, design, now.minusSeconds(i * 60L), false, 3);
+        }
+        persistProduct("Mug", mugs, design, now, false, 2);
+        persistProduct("Archived shirt", shirts, design, now, true, 1);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findCatalogRows_LoadsPageInTwoStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<ProductCatalogRow> page = productRepository.findCatalogRows(
+                PageRequest.of(0, 12, Sort.by("createdAt").descending()));
+
+        assertEquals(12, page.getContent().size());
+        assertEquals(13, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findCatalogRows_ReadsStockAggregateAndCarriesDesignAndCategory() {
+        Page<ProductCatalogRow> page = productRepository.findCatalogRowsByCategory(
+                mugs.getId(), PageRequest.of(0, 12));
+
+        assertEquals(1, page.getTotalElements());
+        ProductCatalogRow row = page.getContent().get(0);
+        assertEquals("Mug", row.name());
+        assertEquals("Mugs", row.category());
+        assertEquals("http://example.com/waves.png", row.designUrl());
+        assertEquals(10, row.stock()); // 2 variants x 5
+    }
+
+    @Test
+    void findCatalogRowsByCategory_ExcludesArchivedProducts() {
+        Page<ProductCatalogRow> page = productRepository.findCatalogRowsByCategory(
+                shirts.getId(), PageRequest.of(0, 50));
+
+        assertEquals(12, page.getTotalElements());
+        assertTrue(page.getContent().stream().noneMatch(row -> row.name().startsWith("Archived")));
+    }
+
+    @Test
+    void findCatalogRowsAfter_WalksAllRowsWithoutCountQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Long> seen = new ArrayList<>();
+        KeysetCursor cursor = KeysetCursor.start();
+        Slice<ProductCatalogRow> slice;
+        do {
+            slice = productRepository.findCatalogRowsAfter(cursor.createdAt(), cursor.id(), KeysetCursor.limit(5));
+            slice.getContent().forEach(row -> seen.add(row.id()));
+            ProductCatalogRow last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            cursor = KeysetCursor.decode(new KeysetCursor(last.createdAt(), last.id()).encode());
+        } while (slice.hasNext());
+
+        assertEquals(13, seen.size());
+        assertEquals(13, new HashSet<>(seen).size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findCatalogRows_SortsByPrecomputedPrice() {
+        Page<ProductCatalogRow> page = productRepository.findCatalogRows(
+                PageRequest.of(0, 3, CatalogSort.PRICE_ASC.toSort()));
+
+        assertEquals("Mug", page.getContent().get(0).name()); // 10.0 base vs 20.0 for shirts
+    }
+
+    @Test
+    void backfillAggregates_FillsOnlyProductsWithoutAggregates() {
+        Product mug = productRepository.findAll().stream()
+                .filter(p -> p.getName().equals("Mug"))
+                .findFirst()
+                .orElseThrow();
+        mug.setTotalStock(null);
+        mug.setMinPrice(null);
+        mug.setMaxPrice(null);
+        productRepository.saveAndFlush(mug);
+
+        assertEquals(1, productRepository.backfillAggregates());
+        entityManager.clear();
+
+        Product reloaded = productRepository.findById(mug.getId()).orElseThrow();
+        assertEquals(10, reloaded.getTotalStock());
+        assertEquals(10.0, reloaded.getMinPrice());
+        assertEquals(11.0, reloaded.getMaxPrice());
+    }
+
+    @Test
+    void findUpdatedAtById_ChangesWhenAProductIsTouched() {
+        Product mug = productRepository.findAll().stream()
+                .filter(p -> p.getName().equals("Mug"))
+                .findFirst()
+                .orElseThrow();
+        Instant before = productRepository.findUpdatedAtById(mug.getId()).orElseThrow();
+        mug.setUpdatedAt(before.plusSeconds(1));
+        productRepository.saveAndFlush(mug);
+
+        assertNotEquals(before, productRepository.findUpdatedAtById(mug.getId()).orElseThrow());
+        assertEquals(mug.getUpdatedAt(), productRepository.findUpdatedAtById(mug.getId()).orElseThrow());
+    }
+
+    @Test
+    void findWithVariantsByIdIn_LoadsDesignCategoryAndVariantsInOneStatement() {
+        List<Long> ids = productRepository.findAll().stream().map(Product::getId).limit(5).toList();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Product> products = productRepository.findWithVariantsByIdIn(ids);
+        for (Product product : products) {
+            assertNotNull(product.getDesign().getDesignUrl());
+            assertNotNull(product.getCategory().getName());
+            assertFalse(product.getVariants().isEmpty());
+        }
+
+        assertEquals(5, products.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void persistProduct(String name, Categories category, Design design, Instant createdAt,
+                                boolean archived, int variantCount) {
+        Product product = Product.builder()
+                .name(name)
+                .description(name + " description")
+                .basePrice(category == mugs ? 10.0 : 20.0)
+                .category(category)
+                .design(design)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .archived(archived)
+                .variants(new HashSet<>())
+                .build();
+
+        Set<ProductVariant> variants = new HashSet<>();
+        for (int i = 0; i < variantCount; i++) {
+            variants.add(ProductVariant.builder()
+                    .size(List.of("S", "M", "L").get(i % 3))
+                    .color("Color " + i)
+                    .priceAdjustment(1.0 * i)
+                    .stock(5)
+                    .product(product)
+                    .build());
+        }
+        product.setVariants(variants);
+        product.refreshAggregates();
+        entityManager.persist(product);
+    }
+}
@@ -0,0 +1,96 @@
+package com.creativePrint.repository;
+
+import com.creativePrint.enums.Role;
+import com.creativePrint.model.Categories;
+import com.creativePrint.model.Design;
+import com.creativePrint.model.Partner;
+import com.creativePrint.model.Product;
+import com.creativePrint.model.ProductVariant;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+public class ProductVariantRepositoryTest {
+
+    @Autowired
+    private ProductVariantRepository variantRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> variantIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Categories shirts = entityManager.persist(Categories.builder().name("T-Shirts").build());
+        for (int i = 0; i < 3; i++) {
+            Partner partner = entityManager.persist(Partner.builder()
+                    .firstName("Partner")
+                    .lastName(String.valueOf(i))
+                    .email("partner" + i + "@example.com")
+                    .role(Role.PARTNER)
+                    .active(true)
+                    .commissionRate(10.0 + i)
+                    .build());
+            Design design = entityManager.persist(Design.builder()
+                    .name("Design " + i)
+                    .designUrl("http://example.com/" + i + ".png")
+                    .creator(partner)
+                    .build());
+            Product product = entityManager.persist(Product.builder()
+                    .name("Shirt " + i)
+                    .basePrice(20.0)
+                    .category(shirts)
+                    .design(design)
+                    .build());
+            for (String size : List.of("M", "L")) {
+                variantIds.add(entityManager.persist(ProductVariant.builder()
+                        .size(size)
+                        .color("Black")
+                        .priceAdjustment(2.0)
+                        .stock(0)
+                        .product(product)
+                        .build()).getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findPricingGraphByIdIn_LoadsDesignersInOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ProductVariant> variants = variantRepository.findPricingGraphByIdIn(variantIds);
+
+        assertEquals(6, variants.size());
+        double commissions = 0;
+        for (ProductVariant variant : variants) {
+            Partner designer = assertInstanceOf(Partner.class, variant.getProduct().getDesign().getCreator());
+            commissions += designer.getCommissionRate() + variant.getProduct().getBasePrice();
+            assertEquals("T-Shirts", variant.getProduct().getCategory().getName());
+        }
+        assertEquals(2 * (10.0 + 11.0 + 12.0) + 6 * 20.0, commissions, 1e-9);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,156 @@
+package com.creativePrint.repository;
+
+import com.creativePrint.enums.InteractionType;
+import com.creativePrint.enums.Role;
+import com.creativePrint.model.Categories;
+import com.creativePrint.model.Design;
+import com.creativePrint.model.JobWatermark;
+import com.creativePrint.model.Partner;
+import com.creativePrint.model.Product;
+import com.creativePrint.model.UserInteraction;
+import com.creativePrint.model.UserProductScore;
+import com.creativePrint.model.UserProductScoreId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+public class UserInteractionRepositoryTest {
+
+    @Autowired
+    private UserInteractionRepository userInteractionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Partner user;
+    private Product shirt;
+    private Product mug;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(Partner.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane@example.com")
+                .role(Role.PARTNER)
+                .active(true)
+                .commissionRate(10.0)
+                .build());
+
+        Design design = entityManager.persist(Design.builder()
+                .name("Waves")
+                .designUrl("http://example.com/waves.png")
+                .creator(user)
+                .build());
+        Categories category = entityManager.persist(Categories.builder().name("T-Shirts").build());
+
+        shirt = persistProduct("Shirt", category, design);
+        mug = persistProduct("Mug", category, design);
+    }
+
+    @Test
+    void findMostInteractedProductsByUser_AddsRawRowsPastWatermarkToRollup() {
+        entityManager.persist(UserProductScore.builder()
+                .id(new UserProductScoreId(user.getId(), shirt.getId()))
+                .weightedScore(4L)
+                .lastSeen(Instant.now())
+                .build());
+
+        // Already folded into the rollup, must not be counted twice
+        UserInteraction compacted = persistInteraction(shirt, InteractionType.PURCHASE);
+        entityManager.persist(JobWatermark.builder()
+                .name(UserInteractionRepository.INTERACTION_COMPACTION)
+                .lastId(compacted.getId())
+                .updatedAt(Instant.now())
+                .build());
+
+        persistInteraction(mug, InteractionType.PURCHASE);
+        persistInteraction(mug, InteractionType.ADD_TO_CART);
+        persistInteraction(shirt, InteractionType.VIEW);
+        entityManager.flush();
+
+        List<Object[]> rows = userInteractionRepository.findMostInteractedProductsByUser(user.getId());
+
+        assertEquals(2, rows.size());
+        assertEquals(mug.getId(), ((Number) rows.get(0)[0]).longValue());
+        assertEquals(8L, ((Number) rows.get(0)[1]).longValue());
+        assertEquals(shirt.getId(), ((Number) rows.get(1)[0]).longValue());
+        assertEquals(5L, ((Number) rows.get(1)[1]).longValue());
+    }
+
+    @Test
+    void findMostInteractedProductsByUser_ReadsRawRowsBeforeFirstCompaction() {
+        persistInteraction(shirt, InteractionType.LIKE);
+        persistInteraction(shirt, InteractionType.VIEW);
+        entityManager.flush();
+
+        List<Object[]> rows = userInteractionRepository.findMostInteractedProductsByUser(user.getId());
+
+        assertEquals(1, rows.size());
+        assertEquals(3L, ((Number) rows.get(0)[1]).longValue());
+    }
+
+    @Test
+    void findMostInteractedProductsByUsers_GroupsRowsPerUser() {
+        Partner other = entityManager.persist(Partner.builder()
+                .firstName("John")
+                .lastName("Roe")
+                .email("john@example.com")
+                .role(Role.PARTNER)
+                .active(true)
+                .commissionRate(10.0)
+                .build());
+        entityManager.persist(UserProductScore.builder()
+                .id(new UserProductScoreId(other.getId(), mug.getId()))
+                .weightedScore(7L)
+                .lastSeen(Instant.now())
+                .build());
+        persistInteraction(shirt, InteractionType.LIKE);
+        persistInteraction(mug, InteractionType.PURCHASE);
+        entityManager.flush();
+
+        List<Object[]> rows = userInteractionRepository.findMostInteractedProductsByUsers(
+                List.of(user.getId(), other.getId()));
+
+        assertEquals(3, rows.size());
+        assertEquals(user.getId(), ((Number) rows.get(0)[0]).longValue());
+        assertEquals(mug.getId(), ((Number) rows.get(0)[1]).longValue());
+        assertEquals(shirt.getId(), ((Number) rows.get(1)[1]).longValue());
+        assertEquals(other.getId(), ((Number) rows.get(2)[0]).longValue());
+        assertEquals(7L, ((Number) rows.get(2)[2]).longValue());
+    }
+
+    private UserInteraction persistInteraction(Product product, InteractionType type) {
+        return entityManager.persist(UserInteraction.builder()
+                .user(user)
+                .product(product)
+                .type(type)
+                .weight(type.getWeight())
+                .timestamp(Instant.now())
+                .build());
+    }
+
+    private Product persistProduct(String name, Categories category, Design design) {
+        return entityManager.persist(Product.builder()
+                .name(name)
+                .basePrice(10.0)
+                .category(category)
+                .design(design)
+                .createdAt(Instant.now())
+                .variants(new HashSet<>())
+                .build());
+    }
+}
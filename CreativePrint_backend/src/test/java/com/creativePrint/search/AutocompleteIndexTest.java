@@ -0,0 +1,64 @@
+package com.creativePrint.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutocompleteIndexTest {
+
+    @Test
+    void suggestsCompletionsByWeight() {
+        AutocompleteIndex index = new AutocompleteIndex();
+        index.add("red shirt", null, 5);
+        index.add("red mug", null, 9);
+        index.add("redwood poster", "Redwood Poster", 2);
+        index.add("blue shirt", null, 20);
+
+        assertEquals(List.of("red mug", "red shirt", "Redwood Poster"), index.suggest("red", 10));
+        assertEquals(List.of("red mug", "red shirt"), index.suggest("red ", 10));
+        assertEquals(List.of("blue shirt"), index.suggest("b", 10));
+        assertTrue(index.suggest("green", 10).isEmpty());
+    }
+
+    @Test
+    void incrementsReorderAndDisplacePreviousTop() {
+        AutocompleteIndex index = new AutocompleteIndex();
+        for (int i = 0; i < AutocompleteIndex.SUGGESTIONS_PER_NODE; i++) {
+            index.add("mug " + i, null, 10 + i);
+        }
+        index.add("mug rare", null, 1);
+        assertEquals(AutocompleteIndex.SUGGESTIONS_PER_NODE, index.suggest("mug", 20).size());
+        assertFalse(index.suggest("mug", 20).contains("mug rare"));
+
+        // Searched often enough, the rare query climbs to the top of every prefix on its path
+        index.add("mug rare", null, 100);
+
+        assertEquals("mug rare", index.suggest("m", 1).get(0));
+        assertEquals("mug rare", index.suggest("mug r", 1).get(0));
+        assertEquals(List.of("mug 9", "mug 8"), index.suggest("mug ", 3).subList(1, 3));
+    }
+
+    @Test
+    void nonPositiveLimitReturnsNoSuggestions() {
+        AutocompleteIndex index = new AutocompleteIndex();
+        index.add("red shirt", null, 5);
+
+        assertTrue(index.suggest("red", -1).isEmpty());
+        assertTrue(index.suggest("red", 0).isEmpty());
+        assertTrue(index.contains("red shirt"));
+        assertFalse(index.contains("red"));
+    }
+
+    @Test
+    void productNamesKeepTheirDisplayText() {
+        AutocompleteIndex index = new AutocompleteIndex();
+        index.add("sunset t shirt", null, 3);
+        index.add(SearchTokenizer.normalizeQuery("Sunset T-Shirt"), "Sunset T-Shirt", 2);
+
+        assertEquals(List.of("Sunset T-Shirt"), index.suggest(SearchTokenizer.normalizeQuery("Sun"), 5));
+    }
+}
@@ -0,0 +1,71 @@
+package com.creativePrint.search;
+
+import com.creativePrint.dto.product.req.ProductFacetFilter;
+import com.creativePrint.dto.product.resp.ProductFacetRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductFacetIndexTest {
+
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFacetIndex();
+        index.index(1L, List.of(
+                new ProductFacetRow(1L, "T-Shirts", false, 20.0, "M", "Blue", 0.0),
+                new ProductFacetRow(1L, "T-Shirts", false, 20.0, "L", "Red", 15.0)));
+        index.index(2L, List.of(
+                new ProductFacetRow(2L, "T-Shirts", false, 25.0, "m", "red", 0.0)));
+        index.index(3L, List.of(
+                new ProductFacetRow(3L, "Mugs", false, 12.0, null, "White", 0.0)));
+        index.index(4L, List.of(
+                new ProductFacetRow(4L, "Mugs", true, 12.0, null, "Red", 0.0)));
+    }
+
+    @Test
+    void query_IntersectsFacetsAndReturnsNewestFirst() {
+        ProductFacetIndex.FacetResult result = index.query(
+                new ProductFacetFilter("T-Shirts", Set.of("M"), Set.of("Red"), null), 0, 10);
+
+        assertEquals(List.of(2L, 1L), result.productIds());
+        assertEquals(2, result.totalMatches());
+    }
+
+    @Test
+    void query_CountsEachFacetAgainstTheOtherSelections() {
+        ProductFacetIndex.FacetResult result = index.query(
+                new ProductFacetFilter(null, Set.of("L"), null, null), 0, 10);
+
+        assertEquals(List.of(1L), result.productIds());
+        assertEquals(2, result.counts().get(ProductFacetIndex.SIZE).get("M"));
+        assertEquals(1, result.counts().get(ProductFacetIndex.SIZE).get("L"));
+        assertEquals(1, result.counts().get(ProductFacetIndex.CATEGORY).get("T-Shirts"));
+        assertNull(result.counts().get(ProductFacetIndex.CATEGORY).get("Mugs"));
+    }
+
+    @Test
+    void query_FiltersOnEffectivePriceRange() {
+        ProductFacetIndex.FacetResult result = index.query(
+                new ProductFacetFilter(null, null, null, Set.of("30-50")), 0, 10);
+
+        assertEquals(List.of(1L), result.productIds()); // 20.0 + 15.0 adjustment
+    }
+
+    @Test
+    void index_SkipsArchivedAndReindexesChangedVariants() {
+        assertEquals(3, index.query(new ProductFacetFilter(null, null, null, null), 0, 10).totalMatches());
+
+        index.index(2L, List.of(new ProductFacetRow(2L, "T-Shirts", false, 25.0, "XL", "Green", 0.0)));
+        ProductFacetIndex.FacetResult result = index.query(
+                new ProductFacetFilter(null, null, Set.of("red"), null), 0, 10);
+
+        assertEquals(List.of(1L), result.productIds());
+        assertEquals(1, result.counts().get(ProductFacetIndex.COLOR).get("green"));
+    }
+}
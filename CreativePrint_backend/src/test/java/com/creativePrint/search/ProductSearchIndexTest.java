@@ -0,0 +1,63 @@
+package com.creativePrint.search;
+
+import com.creativePrint.dto.product.resp.ProductSearchDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.index(new ProductSearchDocument(1L, "Ocean Waves T-Shirt", "Soft cotton tee", "T-Shirts", "Waves"));
+        index.index(new ProductSearchDocument(2L, "Mountain Mug", "Ceramic mug with ocean view", "Mugs", "Peaks"));
+        index.index(new ProductSearchDocument(3L, "Café Hoodie", "Warm hoodie", "Hoodies", "Coffee Break"));
+    }
+
+    @Test
+    void search_RanksNameMatchesAboveDescriptionMatches() {
+        ProductSearchIndex.SearchResult result = index.search("ocean", 0, 10);
+
+        assertEquals(List.of(1L, 2L), result.productIds());
+        assertEquals(2, result.totalMatches());
+    }
+
+    @Test
+    void search_MatchesPrefixesAndIgnoresAccents() {
+        assertEquals(List.of(3L), index.search("cafe hood", 0, 10).productIds());
+        assertEquals(List.of(2L), index.search("moun", 0, 10).productIds());
+    }
+
+    @Test
+    void search_RequiresEveryToken() {
+        assertEquals(List.of(1L), index.search("ocean shirt", 0, 10).productIds());
+        assertTrue(index.search("ocean hoodie", 0, 10).productIds().isEmpty());
+    }
+
+    @Test
+    void index_ReplacesAndRemovesDocuments() {
+        index.index(new ProductSearchDocument(1L, "Sunset Tank Top", "Light tank", "Tops", "Sunset"));
+
+        assertEquals(List.of(2L), index.search("ocean", 0, 10).productIds());
+        assertEquals(List.of(1L), index.search("sunset", 0, 10).productIds());
+
+        index.remove(1L);
+
+        assertTrue(index.search("sunset", 0, 10).productIds().isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void search_PagesThroughRankedResults() {
+        ProductSearchIndex.SearchResult secondPage = index.search("ocean", 1, 1);
+
+        assertEquals(List.of(2L), secondPage.productIds());
+        assertEquals(2, secondPage.totalMatches());
+    }
+}
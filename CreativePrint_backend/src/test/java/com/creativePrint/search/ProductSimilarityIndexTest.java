@@ -0,0 +1,84 @@
+package com.creativePrint.search;
+
+import com.creativePrint.dto.product.resp.ProductSimilarityRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductSimilarityIndexTest {
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void ranksByOverlapThenRecency() {
+        ProductSimilarityIndex index = new ProductSimilarityIndex();
+        index(index, 1L, 10L, 100L, NOW, "cat", "sun");
+        // Same category only
+        index(index, 2L, 10L, 200L, NOW, "tree");
+        // Same designer and a shared element
+        index(index, 3L, 20L, 100L, NOW.minus(Duration.ofDays(300)), "cat");
+        // Same category and a shared element, old and new
+        index(index, 4L, 10L, 300L, NOW.minus(Duration.ofDays(300)), "sun");
+        index(index, 5L, 10L, 300L, NOW, "sun");
+        // Nothing in common
+        index(index, 6L, 30L, 400L, NOW, "moon");
+
+        assertEquals(List.of(3L, 5L, 4L, 2L), index.similar(1L, 10, NOW));
+        assertEquals(List.of(3L, 5L), index.similar(1L, 2, NOW));
+    }
+
+    @Test
+    void archivedAndRemovedProductsAreNotReturned() {
+        ProductSimilarityIndex index = new ProductSimilarityIndex();
+        index(index, 1L, 10L, 100L, NOW, "cat");
+        index(index, 2L, 10L, 100L, NOW, "cat");
+        index(index, 3L, 10L, 100L, NOW, "cat");
+
+        index.index(2L, List.of(new ProductSimilarityRow(2L, 10L, 100L, "cat", NOW, true)));
+        index.remove(3L);
+
+        assertTrue(index.similar(1L, 10, NOW).isEmpty());
+        assertTrue(index.similar(2L, 10, NOW).isEmpty());
+    }
+
+    @Test
+    void containsOnlyListedProducts() {
+        ProductSimilarityIndex index = new ProductSimilarityIndex();
+        index(index, 1L, 10L, 100L, NOW, "cat");
+        index.index(2L, List.of(new ProductSimilarityRow(2L, 10L, 100L, "cat", NOW, true)));
+
+        assertTrue(index.contains(1L));
+        assertFalse(index.contains(2L));
+        assertFalse(index.contains(3L));
+        assertFalse(index.contains(Long.MAX_VALUE));
+        assertFalse(index.contains(null));
+    }
+
+    @Test
+    void reindexingMovesProductBetweenPostings() {
+        ProductSimilarityIndex index = new ProductSimilarityIndex();
+        index(index, 1L, 10L, 100L, NOW, "cat");
+        index(index, 2L, 20L, 200L, NOW, "dog");
+        index(index, 3L, 10L, 300L, NOW, "bird");
+
+        assertEquals(List.of(3L), index.similar(1L, 10, NOW));
+
+        index(index, 3L, 20L, 300L, NOW, "dog");
+
+        assertTrue(index.similar(1L, 10, NOW).isEmpty());
+        assertEquals(List.of(3L), index.similar(2L, 10, NOW));
+    }
+
+    private static void index(ProductSimilarityIndex index, Long id, Long categoryId, Long designerId,
+                              Instant createdAt, String... elements) {
+        index.index(id, Arrays.stream(elements)
+                .map(element -> new ProductSimilarityRow(id, categoryId, designerId, element, createdAt, false))
+                .toList());
+    }
+}
@@ -0,0 +1,145 @@
+package com.creativePrint.service;
+
+import com.creativePrint.config.CacheConfig;
+import com.creativePrint.dto.order.req.OrderItemRequest;
+import com.creativePrint.dto.order.req.OrderRequest;
+import com.creativePrint.dto.order.resp.OrderResponse;
+import com.creativePrint.enums.OrderStatus;
+import com.creativePrint.exception.entitesCustomExceptions.BadRequestException;
+import com.creativePrint.model.IdempotencyKey;
+import com.creativePrint.repository.IdempotencyKeyRepository;
+import com.creativePrint.service.impl.IdempotentOrderServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class IdempotentOrderServiceImplTest {
+
+    private OrderService orderService;
+    private IdempotencyKeyRepository repository;
+    private ObjectMapper objectMapper;
+    private IdempotentOrderServiceImpl service;
+
+    private final OrderRequest request = new OrderRequest(1L, List.of(new OrderItemRequest(5L, 2)));
+    private final OrderResponse response = new OrderResponse(
+            42L, null, List.of(), 69.98, OrderStatus.PENDING, Instant.parse("2025-01-01T00:00:00Z"));
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        repository = mock(IdempotencyKeyRepository.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+
+        when(repository.findByUserIdAndIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(IdempotencyKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new IdempotentOrderServiceImpl(orderService, repository, objectMapper, transactionManager,
+                new CaffeineCacheManager(CacheConfig.ORDER_IDEMPOTENCY_CACHE), Duration.ofSeconds(5), Duration.ofHours(24));
+    }
+
+    @Test
+    void createOrder_ReplaysResponseForRetriedKey() {
+        when(orderService.createOrder(request)).thenReturn(response);
+
+        OrderResponse first = service.createOrder(1L, "checkout-1", request);
+        OrderResponse retry = service.createOrder(1L, "checkout-1", request);
+
+        assertEquals(response, first);
+        assertEquals(response, retry);
+        verify(orderService, times(1)).createOrder(request);
+        verify(repository).save(argThat(key -> key.getOrderId() == 42L && key.getResponseBody() != null));
+    }
+
+    @Test
+    void createOrder_ConcurrentDuplicatesRunOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(request)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<OrderResponse> first = executor.submit(() -> service.createOrder(1L, "checkout-1", request));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<OrderResponse> duplicate = executor.submit(() -> service.createOrder(1L, "checkout-1", request));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals(response, first.get(5, TimeUnit.SECONDS));
+            assertEquals(response, duplicate.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(orderService, times(1)).createOrder(request);
+    }
+
+    @Test
+    void createOrder_ReturnsStoredResponseWhenAnotherInstanceWon() throws Exception {
+        when(repository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_keys_user_key"));
+        IdempotencyKey stored = IdempotencyKey.builder()
+                .userId(1L)
+                .idempotencyKey("checkout-1")
+                .requestHash(hashOf(request))
+                .orderId(42L)
+                .responseBody(objectMapper.writeValueAsString(response))
+                .build();
+        when(repository.findByUserIdAndIdempotencyKey(1L, "checkout-1"))
+                .thenReturn(Optional.empty(), Optional.of(stored));
+
+        assertEquals(response, service.createOrder(1L, "checkout-1", request));
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void createOrder_RejectsKeyReusedForDifferentOrder() {
+        when(orderService.createOrder(any())).thenReturn(response);
+        service.createOrder(1L, "checkout-1", request);
+
+        OrderRequest other = new OrderRequest(1L, List.of(new OrderItemRequest(6L, 1)));
+        assertThrows(BadRequestException.class, () -> service.createOrder(1L, "checkout-1", other));
+        verify(orderService, times(1)).createOrder(any());
+    }
+
+    @Test
+    void createOrder_WithoutKeyAlwaysCreates() {
+        when(orderService.createOrder(request)).thenReturn(response);
+
+        service.createOrder(1L, null, request);
+        service.createOrder(1L, null, request);
+
+        verify(orderService, times(2)).createOrder(request);
+        verifyNoInteractions(repository);
+    }
+
+    private String hashOf(OrderRequest orderRequest) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(objectMapper.writeValueAsBytes(orderRequest));
+        return HexFormat.of().formatHex(digest);
+    }
+}
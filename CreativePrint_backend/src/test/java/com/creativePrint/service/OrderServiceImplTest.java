@@ -4,30 +4,34 @@ import com.creativePrint.dto.order.req.OrderItemRequest;
 import com.creativePrint.dto.order.req.OrderRequest;
 import com.creativePrint.dto.order.req.OrderStatusUpdateRequest;
 import com.creativePrint.dto.order.resp.OrderResponse;
+import com.creativePrint.dto.order.resp.OrderSummaryResponse;
+import com.creativePrint.dto.product.resp.CursorPageResponse;
+import com.creativePrint.dto.req.KeysetCursor;
 import com.creativePrint.enums.OrderStatus;
 import com.creativePrint.mapper.OrderItemMapper;
 import com.creativePrint.mapper.OrderMapper;
 import com.creativePrint.model.*;
+import com.creativePrint.outbox.OrderOutbox;
 import com.creativePrint.repository.OrderRepository;
 import com.creativePrint.repository.OrderStatusHistoryRepository;
 import com.creativePrint.repository.ProductVariantRepository;
 import com.creativePrint.repository.UserRepository;
-import com.creativePrint.service.OrderNotificationService;
-import com.creativePrint.service.RecommendationService;
-import com.creativePrint.service.impl.OrderNotificationServiceImpl;
 import com.creativePrint.service.impl.OrderServiceImpl;
-import com.creativePrint.service.impl.RecommendationServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -55,10 +59,7 @@ public class OrderServiceImplTest {
     private OrderStatusHistoryRepository statusHistoryRepository;
 
     @Mock
-    private OrderNotificationServiceImpl notificationService;
-
-    @Mock
-    private RecommendationServiceImpl recommendationService;
+    private OrderOutbox orderOutbox;
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -134,7 +135,7 @@ public class OrderServiceImplTest {
     void createOrder_SuccessfullyCreatesOrder() {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(variantRepository.findById(1L)).thenReturn(Optional.of(testVariant));
+        when(variantRepository.findPricingGraphByIdIn(Set.of(1L))).thenReturn(List.of(testVariant));
         when(orderMapper.toEntity(orderRequest)).thenReturn(testOrder);
         when(itemMapper.toEntity(any(OrderItemRequest.class))).thenReturn(testOrder.getItems().get(0));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
@@ -145,23 +146,36 @@ public class OrderServiceImplTest {
 
         assertNotNull(result);
         verify(orderRepository).save(any(Order.class));
-        verify(notificationService).notifyOrderCreated(any(Order.class));
-        verify(recommendationService).trackInteraction(any(), any(), any());
+        verify(orderOutbox).orderCreated(testOrder);
+        assertEquals(testUser.getId(), testOrder.getItems().get(0).getPartnerId());
+        assertEquals(testOrder.getCreatedAt(), testOrder.getItems().get(0).getCreatedAt());
+        verify(variantRepository, never()).findById(any());
     }
 
     @Test
-    void getOrderHistory_ReturnsOrdersForUser() {
-
-        List<Order> orders = List.of(testOrder);
-        when(orderRepository.findByBuyerId(1L)).thenReturn(orders);
-        when(orderMapper.toResponse(any(Order.class))).thenReturn(mock(OrderResponse.class));
-
+    void createOrder_UnknownVariantThrows() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(variantRepository.findPricingGraphByIdIn(Set.of(1L))).thenReturn(List.of());
+        when(orderMapper.toEntity(orderRequest)).thenReturn(testOrder);
 
-        List<OrderResponse> result = orderService.getOrderHistory(1L);
+        assertThrows(EntityNotFoundException.class, () -> orderService.createOrder(orderRequest));
+        verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(orderOutbox);
+    }
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(orderRepository).findByBuyerId(1L);
+    @Test
+    void getOrderHistory_ReturnsSummaryPageWithNextCursor() {
+        Instant createdAt = Instant.parse("2025-01-01T00:00:00Z");
+        OrderSummaryResponse summary = new OrderSummaryResponse(7L, 69.98, OrderStatus.PENDING, createdAt, 1L);
+        when(orderRepository.findSummariesByBuyerAfter(eq(1L), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(summary), PageRequest.of(0, 1), true));
+
+        CursorPageResponse<OrderSummaryResponse> result = orderService.getOrderHistory(1L, null, 1);
+
+        assertEquals(List.of(summary), result.content());
+        assertTrue(result.hasNext());
+        assertEquals(new KeysetCursor(createdAt, 7L).encode(), result.nextCursor());
+        verifyNoInteractions(orderMapper);
     }
 
     @Test
@@ -181,7 +195,7 @@ public class OrderServiceImplTest {
         assertNotNull(result);
         assertEquals(OrderStatus.PENDING_PAYMENT, testOrder.getStatus());
         verify(statusHistoryRepository).save(any(OrderStatusHistory.class));
-        verify(notificationService).notifyOrderStatusChange(
+        verify(orderOutbox).orderStatusChanged(
                 eq(testOrder),
                 eq(OrderStatus.PENDING),
                 eq(OrderStatus.PENDING_PAYMENT),
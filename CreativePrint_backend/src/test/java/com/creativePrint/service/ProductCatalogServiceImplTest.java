@@ -1,20 +1,34 @@
 package com.creativePrint.service;
+import com.creativePrint.cache.CatalogPageCache;
+import com.creativePrint.cache.CatalogPageKey;
+import com.creativePrint.cache.CategoryRegistry;
+import com.creativePrint.cache.ETags;
+import com.creativePrint.cache.ProductCache;
+import com.creativePrint.config.CacheConfig;
+import com.creativePrint.dto.product.req.CatalogSort;
+import com.creativePrint.dto.product.req.ProductFacetFilter;
+import com.creativePrint.dto.product.resp.ProductCatalogRow;
 import com.creativePrint.dto.product.resp.ProductDetailWithVariantsDTO;
 import com.creativePrint.dto.product.resp.ProductListResponse;
+import com.creativePrint.dto.product.resp.TaggedResponse;
+import com.creativePrint.exception.entitesCustomExceptions.BadRequestException;
 import com.creativePrint.exception.entitesCustomExceptions.ResourceNotFoundException;
 import com.creativePrint.model.Categories;
 import com.creativePrint.model.Design;
 import com.creativePrint.model.Product;
 import com.creativePrint.model.ProductVariant;
-import com.creativePrint.repository.CategoriesRepository;
 import com.creativePrint.repository.ProductRepository;
+import com.creativePrint.search.ProductFacetIndex;
 import com.creativePrint.service.impl.ProductCatalogServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -23,12 +37,16 @@ import org.springframework.data.domain.Pageable;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,7 +56,18 @@ public class ProductCatalogServiceImplTest {
     private ProductRepository productRepository;
 
     @Mock
-    private CategoriesRepository categoriesRepository;
+    private CategoryRegistry categoryRegistry;
+
+    @Mock
+    private ProductFacetService productFacetService;
+
+    @Spy
+    private ProductCache productCache = new ProductCache(
+            new CaffeineCacheManager(CacheConfig.PRODUCT_DETAILS_CACHE, CacheConfig.PRODUCT_RESPONSES_CACHE));
+
+    @Spy
+    private CatalogPageCache catalogPageCache = new CatalogPageCache(
+            new CaffeineCacheManager(CacheConfig.PRODUCT_CATALOG_CACHE), new SimpleMeterRegistry());
 
     @InjectMocks
     private ProductCatalogServiceImpl productCatalogService;
@@ -102,12 +131,20 @@ public class ProductCatalogServiceImplTest {
     @Test
     void getProductCatalog_WithoutCategory_ReturnsAllProducts() {
 
-        Pageable pageable = PageRequest.of(0, 10);
-        when(productRepository.findNonArchivedProducts(any(Pageable.class))).thenReturn(productPage);
-        when(categoriesRepository.findAll()).thenReturn(List.of(testCategory));
+        ProductCatalogRow row = new ProductCatalogRow(
+                testProduct.getId(),
+                testProduct.getName(),
+                testProduct.getDescription(),
+                testProduct.getBasePrice(),
+                testProduct.getDesign().getDesignUrl(),
+                testCategory.getName(),
+                testProduct.getCreatedAt(),
+                25);
+        when(productRepository.findCatalogRows(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(row)));
+        when(categoryRegistry.names()).thenReturn(List.of(testCategory.getName()));
 
 
-        ProductListResponse response = productCatalogService.getProductCatalog(0, 10, null);
+        ProductListResponse response = productCatalogService.getProductCatalog(0, 10, null, CatalogSort.NEWEST).body();
 
 
         assertNotNull(response);
@@ -117,6 +154,8 @@ public class ProductCatalogServiceImplTest {
         assertEquals(0, response.currentPage());
         assertEquals(1, response.categories().size());
         assertEquals("T-Shirts", response.categories().get(0));
+        assertEquals(25, response.products().get(0).stock());
+        assertTrue(response.products().get(0).isHot());
     }
 
     @Test
@@ -149,7 +188,7 @@ public class ProductCatalogServiceImplTest {
     @Test
     void getProductDetailsWithVariants_ReturnsDetailedProduct() {
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findWithVariantsByIdIn(Set.of(1L))).thenReturn(List.of(testProduct));
 
         ProductDetailWithVariantsDTO result = productCatalogService.getProductDetailsWithVariants(1L);
 
@@ -165,4 +204,73 @@ public class ProductCatalogServiceImplTest {
         assertTrue(result.variants().stream().anyMatch(v -> v.size().equals("M") && v.color().equals("Blue")));
         assertTrue(result.variants().stream().anyMatch(v -> v.size().equals("L") && v.color().equals("Red")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getProductDetailsWithVariants_Batch_LoadsOnlyCacheMissesInOneQuery() {
+        when(productRepository.findWithVariantsByIdIn(Set.of(1L))).thenReturn(List.of(testProduct));
+        productCatalogService.getProductDetailsWithVariants(1L);
+
+        when(productRepository.findWithVariantsByIdIn(Set.of(2L, 3L))).thenReturn(List.of());
+        List<ProductDetailWithVariantsDTO> result = productCatalogService.getProductDetailsWithVariants(List.of(2L, 1L, 3L));
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).id());
+        verify(productRepository, times(1)).findWithVariantsByIdIn(Set.of(1L));
+        verify(productRepository, times(1)).findWithVariantsByIdIn(Set.of(2L, 3L));
+    }
+
+    @Test
+    void getProductDetailsWithVariants_Batch_RejectsOversizedRequests() {
+        List<Long> ids = LongStream.rangeClosed(1, 201).boxed().toList();
+
+        assertThrows(BadRequestException.class, () -> productCatalogService.getProductDetailsWithVariants(ids));
+    }
+
+    @Test
+    void getFilteredCatalog_ClampsPageAndSize() {
+        ProductFacetFilter filter = new ProductFacetFilter(null, null, null, null);
+        when(productFacetService.filter(filter, 0, 1)).thenReturn(new ProductFacetIndex.FacetResult(List.of(), 3, Map.of()));
+
+        ProductListResponse result = productCatalogService.getFilteredCatalog(filter, -2, 0);
+
+        assertEquals(0, result.currentPage());
+        assertEquals(3, result.totalPages());
+        verify(productFacetService).filter(filter, 0, 1);
+    }
+
+    @Test
+    void getProductCatalog_ClampsPageAndSize() {
+        when(productRepository.findCatalogRows(any(Pageable.class))).thenReturn(Page.empty());
+        when(categoryRegistry.names()).thenReturn(List.of());
+
+        ProductListResponse response = productCatalogService.getProductCatalog(-3, 10_000, "", null).body();
+
+        assertEquals(0, response.currentPage());
+        verify(productRepository).findCatalogRows(PageRequest.of(0, CatalogPageKey.MAX_PAGE_SIZE, CatalogSort.NEWEST.toSort()));
+        assertEquals(CatalogPageKey.of(0, 100, null, CatalogSort.NEWEST), CatalogPageKey.of(-3, 10_000, "", null));
+    }
+
+    @Test
+    void getProductCatalog_TagsEachPageFromItsContent() {
+        ProductCatalogRow row = new ProductCatalogRow(1L, "Shirt", null, 20.0, null, "T-Shirts", Instant.now(), 5);
+        when(productRepository.findCatalogRows(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(row)))
+                .thenReturn(new PageImpl<>(List.of(row)))
+                .thenReturn(new PageImpl<>(List.of(new ProductCatalogRow(1L, "Shirt", null, 20.0, null, "T-Shirts",
+                        row.createdAt(), 4))));
+        when(categoryRegistry.names()).thenReturn(List.of("T-Shirts"));
+
+        TaggedResponse<ProductListResponse> first = productCatalogService.getProductCatalog(0, 10, null, null);
+        TaggedResponse<ProductListResponse> cached = productCatalogService.getProductCatalog(0, 10, null, null);
+        catalogPageCache.evictCategories(Set.of("Mugs"));
+        TaggedResponse<ProductListResponse> same = productCatalogService.getProductCatalog(0, 10, null, null);
+        catalogPageCache.evictCategories(Set.of("T-Shirts"));
+        TaggedResponse<ProductListResponse> restocked = productCatalogService.getProductCatalog(0, 10, null, null);
+
+        assertSame(first, cached);
+        assertEquals(ETags.of(first.body()), first.etag());
+        assertEquals(first.etag(), same.etag());
+        assertNotEquals(first.etag(), restocked.etag());
+        verify(productRepository, times(3)).findCatalogRows(any(Pageable.class));
+    }
+}
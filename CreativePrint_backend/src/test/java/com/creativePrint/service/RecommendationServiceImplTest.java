@@ -0,0 +1,309 @@
+package com.creativePrint.service;
+
+import com.creativePrint.cache.ProductCache;
+import com.creativePrint.config.CacheConfig;
+import com.creativePrint.dto.product.resp.BulkRecommendations;
+import com.creativePrint.dto.product.resp.ProductResponse;
+import com.creativePrint.enums.InteractionType;
+import com.creativePrint.enums.TrendingWindow;
+import com.creativePrint.event.InteractionsWrittenEvent;
+import com.creativePrint.exception.entitesCustomExceptions.ResourceNotFoundException;
+import com.creativePrint.mapper.ProductMapper;
+import com.creativePrint.model.Product;
+import com.creativePrint.recommendation.CoOccurrenceModel;
+import com.creativePrint.recommendation.CoOccurrenceRecommender;
+import com.creativePrint.recommendation.MatrixFactorizationModel;
+import com.creativePrint.recommendation.MatrixFactorizationRecommender;
+import com.creativePrint.recommendation.TrendingEngine;
+import com.creativePrint.recommendation.UserRecommendationCache;
+import com.creativePrint.repository.ProductRepository;
+import com.creativePrint.repository.UserInteractionRepository;
+import com.creativePrint.service.ProductSimilarityService;
+import com.creativePrint.service.SearchAutocompleteService;
+import com.creativePrint.service.impl.RecommendationServiceImpl;
+import com.creativePrint.tracking.InteractionEvent;
+import com.creativePrint.tracking.InteractionIngestor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RecommendationServiceImplTest {
+
+    @Mock
+    private UserInteractionRepository interactionRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private InteractionIngestor interactionIngestor;
+
+    @Mock
+    private CoOccurrenceRecommender coOccurrenceRecommender;
+
+    @Mock
+    private MatrixFactorizationRecommender matrixFactorizationRecommender;
+
+    @Mock
+    private TrendingEngine trendingEngine;
+
+    @Mock
+    private ProductSimilarityService productSimilarityService;
+
+    @Mock
+    private SearchAutocompleteService searchAutocompleteService;
+
+    @Spy
+    private UserRecommendationCache userRecommendationCache = new UserRecommendationCache(
+            new CaffeineCacheManager(CacheConfig.USER_RECOMMENDATIONS_CACHE));
+
+    @Spy
+    private ProductCache productCache = new ProductCache(
+            new CaffeineCacheManager(CacheConfig.PRODUCT_DETAILS_CACHE, CacheConfig.PRODUCT_RESPONSES_CACHE));
+
+    @InjectMocks
+    private RecommendationServiceImpl recommendationService;
+
+    @Test
+    void personalizedRecommendations_AreRankedOncePerUser() {
+        stubRanking();
+
+        List<ProductResponse> first = recommendationService.getPersonalizedRecommendations(1L, 2);
+        List<ProductResponse> second = recommendationService.getPersonalizedRecommendations(1L, 2);
+
+        assertEquals(List.of(10L, 11L), first.stream().map(ProductResponse::id).toList());
+        assertEquals(first, second);
+        verify(interactionRepository, times(1)).findMostInteractedProductsByUser(1L);
+        verify(productRepository, times(1)).findWithVariantsByIdIn(anyCollection());
+    }
+
+    @Test
+    void limits_AreClampedToTheCachedPool() {
+        stubRanking();
+        when(trendingEngine.top(any(), anyInt())).thenReturn(List.of(10L));
+
+        assertEquals(List.of(10L), recommendationService.getPersonalizedRecommendations(1L, -5).stream()
+                .map(ProductResponse::id).toList());
+        assertEquals(List.of(10L, 11L), recommendationService.getPersonalizedRecommendations(1L, Integer.MAX_VALUE)
+                .stream().map(ProductResponse::id).toList());
+        assertEquals(List.of(10L), recommendationService.getTrendingProducts(Integer.MAX_VALUE).stream()
+                .map(ProductResponse::id).toList());
+
+        verify(interactionRepository, times(1)).findMostInteractedProductsByUser(1L);
+        verify(trendingEngine).top(TrendingWindow.DAILY, 60);
+    }
+
+    @Test
+    void writtenPurchase_InvalidatesCachedRecommendations() {
+        stubRanking();
+
+        recommendationService.getPersonalizedRecommendations(1L, 2);
+        recommendationService.onInteractionsWritten(written(InteractionType.VIEW));
+        recommendationService.getPersonalizedRecommendations(1L, 2);
+        // Tracking alone does not evict: the purchase is not readable until the writer has flushed it
+        when(productSimilarityService.isListed(5L)).thenReturn(true);
+        recommendationService.trackInteraction(1L, 5L, InteractionType.PURCHASE);
+        recommendationService.getPersonalizedRecommendations(1L, 2);
+        recommendationService.onInteractionsWritten(written(InteractionType.PURCHASE));
+        recommendationService.getPersonalizedRecommendations(1L, 2);
+
+        verify(interactionRepository, times(2)).findMostInteractedProductsByUser(1L);
+    }
+
+    @Test
+    void usersInFactorModel_AreRankedWithoutDatabaseReads() {
+        MatrixFactorizationModel factorModel = mock(MatrixFactorizationModel.class);
+        when(factorModel.recommend(eq(1L), anyCollection(), anyInt())).thenAnswer(invocation ->
+                LongStream.range(20, 20 + (int) invocation.getArgument(2)).boxed().toList());
+        when(matrixFactorizationRecommender.snapshot()).thenReturn(factorModel);
+        when(coOccurrenceRecommender.snapshot()).thenReturn(CoOccurrenceModel.EMPTY);
+        stubHydration();
+
+        List<ProductResponse> result = recommendationService.getPersonalizedRecommendations(1L, 2);
+
+        assertEquals(List.of(20L, 21L), result.stream().map(ProductResponse::id).toList());
+        verify(interactionRepository, never()).findMostInteractedProductsByUser(any());
+    }
+
+    @Test
+    void usersInFactorModel_SkipProductsArchivedSinceTraining() {
+        MatrixFactorizationModel factorModel = mock(MatrixFactorizationModel.class);
+        when(factorModel.recommend(eq(1L), anyCollection(), anyInt())).thenAnswer(invocation -> {
+            Collection<Long> excluded = invocation.getArgument(1);
+            return LongStream.range(20, 30).boxed()
+                    .filter(id -> !excluded.contains(id))
+                    .limit((int) invocation.getArgument(2))
+                    .toList();
+        });
+        when(matrixFactorizationRecommender.snapshot()).thenReturn(factorModel);
+        when(matrixFactorizationRecommender.unlistedProducts()).thenReturn(Set.of(20L));
+        when(coOccurrenceRecommender.snapshot()).thenReturn(CoOccurrenceModel.EMPTY);
+        stubHydration();
+
+        List<ProductResponse> result = recommendationService.getPersonalizedRecommendations(1L, 2);
+
+        assertEquals(List.of(21L, 22L), result.stream().map(ProductResponse::id).toList());
+    }
+
+    @Test
+    void bulkRecommendations_LoadSeedsOnceAndShareHydratedProducts() {
+        MatrixFactorizationModel factorModel = mock(MatrixFactorizationModel.class);
+        when(factorModel.recommend(anyLong(), anyCollection(), anyInt())).thenAnswer(invocation ->
+                invocation.getArgument(0).equals(1L) ? List.of(30L, 31L, 32L) : List.of());
+        when(matrixFactorizationRecommender.snapshot()).thenReturn(factorModel);
+
+        CoOccurrenceModel coOccurrenceModel = mock(CoOccurrenceModel.class);
+        when(coOccurrenceModel.recommend(anyMap(), anyCollection(), anyInt())).thenReturn(List.of(31L, 40L));
+        when(coOccurrenceRecommender.snapshot()).thenReturn(coOccurrenceModel);
+        when(trendingEngine.top(any(), anyInt())).thenReturn(List.of(50L, 30L));
+
+        List<Object[]> seeds = new ArrayList<>();
+        seeds.add(new Object[]{2L, 5L, 3L});
+        when(interactionRepository.findMostInteractedProductsByUsers(anyCollection())).thenReturn(seeds);
+        stubHydration();
+
+        BulkRecommendations result = recommendationService.getBulkRecommendations(List.of(1L, 2L, 3L), 2);
+
+        assertEquals(List.of(30L, 31L), result.productIdsByUser().get(1L));
+        assertEquals(List.of(31L, 40L), result.productIdsByUser().get(2L));
+        assertEquals(List.of(50L, 30L), result.productIdsByUser().get(3L));
+        assertSame(result.forUser(1L).get(1), result.forUser(2L).get(0));
+        verify(interactionRepository, never()).findMostInteractedProductsByUser(any());
+        verify(interactionRepository, times(1)).findMostInteractedProductsByUsers(anyCollection());
+        verify(productRepository, times(1)).findWithVariantsByIdIn(anyCollection());
+    }
+
+    @Test
+    void bulkRecommendations_MatchPerUserRecommendations() {
+        // User 1 is known to the factor model but comes up short, user 2 is unknown with interactions,
+        // user 3 is unknown without any
+        MatrixFactorizationModel factorModel = mock(MatrixFactorizationModel.class);
+        when(factorModel.recommend(anyLong(), anyCollection(), anyInt())).thenAnswer(invocation ->
+                invocation.getArgument(0).equals(1L) ? List.of(30L) : List.of());
+        when(matrixFactorizationRecommender.snapshot()).thenReturn(factorModel);
+
+        CoOccurrenceModel coOccurrenceModel = mock(CoOccurrenceModel.class);
+        when(coOccurrenceModel.recommend(anyMap(), anyCollection(), anyInt())).thenAnswer(invocation -> {
+            Map<Long, Long> seeds = invocation.getArgument(0);
+            Collection<Long> excluded = invocation.getArgument(1);
+            return LongStream.of(40L, 41L, 42L)
+                    .map(id -> id + 10 * seeds.keySet().iterator().next())
+                    .boxed()
+                    .filter(id -> !excluded.contains(id))
+                    .limit((int) invocation.getArgument(2))
+                    .toList();
+        });
+        when(coOccurrenceRecommender.snapshot()).thenReturn(coOccurrenceModel);
+        when(trendingEngine.top(any(), anyInt())).thenAnswer(invocation ->
+                LongStream.range(50, 50 + (int) invocation.getArgument(1)).boxed().toList());
+        when(productSimilarityService.findSimilarProductIds(any(), anyInt())).thenReturn(List.of());
+
+        List<Object[]> seeds = new ArrayList<>();
+        seeds.add(new Object[]{1L, 6L, 4L});
+        seeds.add(new Object[]{2L, 5L, 3L});
+        when(interactionRepository.findMostInteractedProductsByUsers(anyCollection())).thenAnswer(invocation ->
+                seeds.stream()
+                        .filter(row -> invocation.<Collection<Long>>getArgument(0).contains(row[0]))
+                        .toList());
+        when(interactionRepository.findMostInteractedProductsByUser(anyLong())).thenAnswer(invocation ->
+                seeds.stream()
+                        .filter(row -> row[0].equals(invocation.getArgument(0)))
+                        .map(row -> new Object[]{row[1], row[2]})
+                        .toList());
+        stubHydration();
+
+        BulkRecommendations result = recommendationService.getBulkRecommendations(List.of(1L, 2L, 3L), 3);
+
+        assertEquals(List.of(30L, 100L, 101L), result.productIdsByUser().get(1L));
+        for (Long userId : List.of(1L, 2L, 3L)) {
+            assertEquals(recommendationService.getPersonalizedRecommendations(userId, 3), result.forUser(userId));
+        }
+    }
+
+    @Test
+    void trackInteraction_RejectsUnknownProductsWithoutRecordingThem() {
+        when(productSimilarityService.isListed(5L)).thenReturn(true);
+
+        recommendationService.trackInteraction(1L, 5L, InteractionType.VIEW);
+        assertThrows(ResourceNotFoundException.class,
+                () -> recommendationService.trackInteraction(1L, 999L, InteractionType.PURCHASE));
+
+        verify(interactionIngestor, times(1)).submit(any());
+        verify(trendingEngine).record(5L, InteractionType.VIEW.getWeight());
+        verify(trendingEngine, never()).record(eq(999L), anyDouble());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void trackSearch_StoresAndCountsNormalizedQuery() {
+        recommendationService.trackSearch(1L, "  Red   T-Shirt ");
+        recommendationService.trackSearch(1L, " -- ");
+
+        ArgumentCaptor<InteractionEvent> event = ArgumentCaptor.forClass(InteractionEvent.class);
+        verify(interactionIngestor).submit(event.capture());
+        assertEquals("red t shirt", event.getValue().searchQuery());
+        verify(searchAutocompleteService).recordSearch("red t shirt");
+    }
+
+    private InteractionsWrittenEvent written(InteractionType type) {
+        return new InteractionsWrittenEvent(List.of(
+                new InteractionEvent(1L, 5L, type, type.getWeight(), null, Instant.now())));
+    }
+
+    private void stubRanking() {
+        List<Object[]> interactions = new ArrayList<>();
+        interactions.add(new Object[]{5L, 3L});
+        when(interactionRepository.findMostInteractedProductsByUser(1L)).thenReturn(interactions);
+        CoOccurrenceModel coOccurrenceModel = mock(CoOccurrenceModel.class);
+        when(coOccurrenceModel.recommend(anyMap(), anyCollection(), anyInt())).thenReturn(List.of(10L, 11L));
+        when(coOccurrenceRecommender.snapshot()).thenReturn(coOccurrenceModel);
+        when(matrixFactorizationRecommender.snapshot()).thenReturn(MatrixFactorizationModel.EMPTY);
+        when(productSimilarityService.findSimilarProductIds(any(), anyInt())).thenReturn(List.of());
+        stubHydration();
+    }
+
+    private void stubHydration() {
+        when(productRepository.findWithVariantsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> Product.builder().id(id).build()).toList();
+        });
+        when(productMapper.toResponse(any(Product.class))).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            return new ProductResponse(product.getId(), "Product " + product.getId(), null, 10.0,
+                    null, null, List.of(), null, null, false);
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.creativePrint.service;
+
+import com.creativePrint.repository.ProductRepository;
+import com.creativePrint.repository.SearchQueryStatRepository;
+import com.creativePrint.service.impl.SearchAutocompleteServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class SearchAutocompleteServiceImplTest {
+    private SearchAutocompleteServiceImpl searchAutocompleteService;
+
+    @BeforeEach
+    void setUp() {
+        searchAutocompleteService = new SearchAutocompleteServiceImpl(mock(DataSource.class),
+                mock(ProductRepository.class), mock(SearchQueryStatRepository.class), 3);
+    }
+
+    @Test
+    void recordSearch_PromotesQueriesOnlyOnceTheyReachMinSearchCount() {
+        searchAutocompleteService.recordSearch("red shirt");
+        searchAutocompleteService.recordSearch("red shirt");
+        assertTrue(searchAutocompleteService.suggest("red", 5).isEmpty());
+
+        searchAutocompleteService.recordSearch("red shirt");
+        searchAutocompleteService.recordSearch("red mug");
+        assertEquals(List.of("red shirt"), searchAutocompleteService.suggest("red", 5));
+
+        // Once promoted, every further search counts straight away
+        searchAutocompleteService.recordSearch("red shirt");
+        assertEquals(List.of("red shirt"), searchAutocompleteService.suggest("red", 5));
+    }
+
+    @Test
+    void recordSearch_StopsTrackingNewQueriesWhenPendingIsFull() {
+        IntStream.range(0, 10_000).forEach(i -> searchAutocompleteService.recordSearch("query " + i));
+        for (int i = 0; i < 3; i++) {
+            searchAutocompleteService.recordSearch("late query");
+            searchAutocompleteService.recordSearch("query 0");
+            searchAutocompleteService.recordSearch("query 0");
+        }
+
+        assertTrue(searchAutocompleteService.suggest("late", 5).isEmpty());
+        assertEquals(List.of("query 0"), searchAutocompleteService.suggest("query", 5));
+    }
+
+    @Test
+    void suggest_ClampsLimit() {
+        IntStream.range(0, 3).forEach(i -> searchAutocompleteService.recordSearch("red shirt"));
+
+        assertTrue(searchAutocompleteService.suggest("red", -5).isEmpty());
+        assertEquals(List.of("red shirt"), searchAutocompleteService.suggest("red", 1_000));
+    }
+}
@@ -0,0 +1,117 @@
+package com.creativePrint.tracking;
+
+import com.creativePrint.enums.InteractionType;
+import com.creativePrint.event.InteractionsWrittenEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class InteractionIngestorTest {
+    private static final Instant TIMESTAMP = Instant.parse("2025-01-01T00:00:00Z");
+
+    private JdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Integer> batchSizes;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        batchSizes = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    batchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+                    return new int[0][];
+                });
+    }
+
+    @Test
+    void stop_DrainsBufferedEventsInBatches() throws InterruptedException {
+        InteractionIngestor ingestor = ingestor(100, 4);
+        ingestor.start();
+
+        for (int i = 0; i < 10; i++) {
+            ingestor.submit(view(i));
+        }
+        ingestor.stop();
+
+        assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 4));
+        assertEquals(10.0, meterRegistry.counter("interactions.written").count());
+    }
+
+    @Test
+    void submit_DropsViewsWhenBufferIsFull() throws InterruptedException {
+        InteractionIngestor ingestor = ingestor(2, 10);
+
+        for (int i = 0; i < 5; i++) {
+            ingestor.submit(view(i));
+        }
+
+        assertEquals(2.0, meterRegistry.counter("interactions.accepted").count());
+        assertEquals(3.0, meterRegistry.counter("interactions.dropped").count());
+
+        ingestor.start();
+        ingestor.stop();
+        assertEquals(List.of(2), batchSizes);
+    }
+
+    @Test
+    void flush_RetriesRowsIndividuallyWhenBatchFails() throws InterruptedException {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("fk"));
+        when(jdbcTemplate.update(eq(InteractionIngestor.INSERT_SQL), any(Object[].class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("fk"));
+
+        InteractionIngestor ingestor = ingestor(10, 10);
+        ingestor.submit(view(1));
+        ingestor.submit(view(2));
+        ingestor.start();
+        ingestor.stop();
+
+        assertEquals(1.0, meterRegistry.counter("interactions.written").count());
+        assertEquals(1.0, meterRegistry.counter("interactions.rejected").count());
+        verify(eventPublisher).publishEvent(new InteractionsWrittenEvent(List.of(view(1))));
+    }
+
+    @Test
+    void flush_AnnouncesBatchOnlyAfterItIsWritten() throws InterruptedException {
+        InteractionIngestor ingestor = ingestor(10, 10);
+        ingestor.submit(view(1));
+        verifyNoInteractions(eventPublisher);
+
+        ingestor.start();
+        ingestor.stop();
+
+        var order = inOrder(jdbcTemplate, eventPublisher);
+        order.verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        order.verify(eventPublisher).publishEvent(new InteractionsWrittenEvent(List.of(view(1))));
+    }
+
+    private InteractionIngestor ingestor(int capacity, int batchSize) {
+        return new InteractionIngestor(jdbcTemplate, eventPublisher, meterRegistry, capacity, batchSize,
+                Duration.ofMillis(50), Duration.ofMillis(1));
+    }
+
+    private InteractionEvent view(long productId) {
+        return new InteractionEvent(1L, productId, InteractionType.VIEW, 1, null, TIMESTAMP);
+    }
+}
@@ -1,5 +1,5 @@
 import { api } from './axios';
-import { Order, OrderStatusHistory } from '../../../types/order';
+import { CursorPageResponse, Order, OrderStatusHistory, OrderSummary } from '../../../types/order';
 
 // Order status options for UI dropdowns
 export const ORDER_STATUSES = [
@@ -49,9 +49,9 @@ export const orderService = {
     }
   },
 
-  getOrderHistory: async (): Promise<Order[]> => {
+  getOrderHistory: async (cursor?: string, size = 20): Promise<CursorPageResponse<OrderSummary>> => {
     try {
-      const response = await api.get('/orders/history');
+      const response = await api.get('/orders/history', { params: { cursor, size } });
       return response.data;
     } catch (error) {
       console.error('Error getting order history:', error);
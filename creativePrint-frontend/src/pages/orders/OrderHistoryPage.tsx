@@ -6,9 +6,9 @@ import Header from "../../components/layout/Header";
 import Footer from "../../components/layout/Footer";
 import { ShoppingBag, Search, Package, ChevronRight, FileText } from "lucide-react";
 import { motion } from "framer-motion";
-import { api } from "../../components/services/api/axios";
+import { orderService } from "../../components/services/api/order.service";
 import toast from "react-hot-toast";
-import { Order } from "../../types/order";
+import { OrderSummary } from "../../types/order";
 
 // Helper function to get status badge color
 const getStatusColor = (status: string): string => {
@@ -38,9 +38,11 @@ export default function OrderHistoryPage() {
   const navigate = useNavigate();
   const { userId, isAuthenticated } = useSelector((state: RootState) => state.user);
   
-  const [orders, setOrders] = useState<Order[]>([]);
-  const [filteredOrders, setFilteredOrders] = useState<Order[]>([]);
+  const [orders, setOrders] = useState<OrderSummary[]>([]);
+  const [filteredOrders, setFilteredOrders] = useState<OrderSummary[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [searchQuery, setSearchQuery] = useState("");
   
@@ -55,9 +57,9 @@ export default function OrderHistoryPage() {
     const fetchOrders = async () => {
       try {
         setLoading(true);
-        const response = await api.get("/orders/history");
-        setOrders(response.data);
-        setFilteredOrders(response.data);
+        const page = await orderService.getOrderHistory();
+        setOrders(page.content);
+        setNextCursor(page.nextCursor);
       } catch (err: any) {
         console.error("Error fetching orders:", err);
         setError(err.response?.data?.message || "Failed to load orders");
@@ -70,6 +72,23 @@ export default function OrderHistoryPage() {
     fetchOrders();
   }, [navigate, isAuthenticated]);
   
+  const handleLoadMore = async () => {
+    if (!nextCursor) {
+      return;
+    }
+    try {
+      setLoadingMore(true);
+      const page = await orderService.getOrderHistory(nextCursor);
+      setOrders(previous => [...previous, ...page.content]);
+      setNextCursor(page.nextCursor);
+    } catch (err: any) {
+      console.error("Error fetching more orders:", err);
+      toast.error("Could not load more orders");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+  
   // Filter orders based on search query
   useEffect(() => {
     if (!searchQuery.trim()) {
@@ -94,10 +113,6 @@ export default function OrderHistoryPage() {
     return new Date(dateString).toLocaleDateString('en-US', options);
   };
   
-  const getTotalItems = (order: Order) => {
-    return order.items.reduce((total, item) => total + item.quantity, 0);
-  };
-  
   const handleOrderClick = (orderId: number) => {
     navigate(`/orders/${orderId}`);
   };
@@ -183,7 +198,7 @@ export default function OrderHistoryPage() {
                             </span>
                           </div>
                           <div className="flex items-center text-sm text-gray-500">
-                            <span className="mr-2">{getTotalItems(order)} items</span>
+                            <span className="mr-2">{order.itemCount} items</span>
                             <span className="mx-2">•</span>
                             <span className="font-medium text-gray-900">${order.totalPrice.toFixed(2)}</span>
                           </div>
@@ -203,6 +218,18 @@ export default function OrderHistoryPage() {
                   <p className="text-gray-500">No orders found matching your search.</p>
                 </div>
               )}
+              
+              {nextCursor && (
+                <div className="p-6 border-t text-center">
+                  <button
+                    onClick={handleLoadMore}
+                    disabled={loadingMore}
+                    className="inline-flex items-center px-4 py-2 border border-gray-300 text-sm font-medium rounded-md text-gray-700 bg-white hover:bg-gray-50 disabled:opacity-50"
+                  >
+                    {loadingMore ? "Loading..." : "Load more orders"}
+                  </button>
+                </div>
+              )}
             </motion.div>
           </div>
         ) : (
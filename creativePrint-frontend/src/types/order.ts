@@ -22,6 +22,15 @@ export interface Order {
   createdAt: string
 }
 
+// One row of GET /orders/history; the items are only loaded on the order details page
+export interface OrderSummary {
+  id: number
+  totalPrice: number
+  status: string
+  createdAt: string
+  itemCount: number
+}
+
 export interface OrderStatusHistory {
   id: number
   orderId: number
@@ -49,4 +58,12 @@ export interface PageResponse<T> {
   totalElements: number
   size: number
   number: number
-}
\ No newline at end of file
+}
+
+// Keyset page: pass nextCursor back to get the following page, null once hasNext is false
+export interface CursorPageResponse<T> {
+  content: T[]
+  size: number
+  hasNext: boolean
+  nextCursor: string | null
+}